@@ -0,0 +1,112 @@
+package org.example.librarymanagementsystem.benchmark;
+
+import org.example.librarymanagementsystem.LibraryManagementSystemApplication;
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.entities.Patron;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.repositories.PatronRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Boots the application against an in-memory H2 database and seeds it with books and patrons.
+// The web tier is started on a random port; service benchmarks call beans directly, web benchmarks go through port().
+final class BenchmarkContext implements AutoCloseable {
+
+    static final int BOOKS = 10_000;
+    static final int PATRONS = 1_000;
+
+    private final ConfigurableApplicationContext context;
+    private final long[] bookIds;
+    private final long[] patronIds;
+
+    // Extra properties let a benchmark override settings, e.g. the thread model
+    BenchmarkContext(String... properties) {
+        context = new SpringApplicationBuilder(LibraryManagementSystemApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+
+        bookIds = seedBooks(context.getBean(BookRepository.class));
+        patronIds = seedPatrons(context.getBean(PatronRepository.class));
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    long[] bookIds() {
+        return bookIds;
+    }
+
+    long[] patronIds() {
+        return patronIds;
+    }
+
+    void clearCaches() {
+        CacheManager cacheManager = context.getBean(CacheManager.class);
+
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private static long[] seedBooks(BookRepository bookRepository) {
+        List<Book> books = new ArrayList<>(BOOKS);
+
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book();
+            book.setTitle("Title " + i);
+            book.setAuthor("Author " + (i % 500));
+            book.setIsbn(String.valueOf(9_780_000_000_000L + i));
+            book.setGenre("Genre " + (i % 20));
+            book.setPublisher("Publisher " + (i % 50));
+            book.setPublicationYear(1900 + i % 125);
+            book.setPages(100 + i % 900);
+            book.setAvailable(true);
+            books.add(book);
+        }
+
+        return bookRepository.saveAll(books).stream().mapToLong(Book::getId).toArray();
+    }
+
+    private static long[] seedPatrons(PatronRepository patronRepository) {
+        List<Patron> patrons = new ArrayList<>(PATRONS);
+
+        for (int i = 0; i < PATRONS; i++) {
+            Patron patron = new Patron();
+            patron.setName("Patron " + i);
+            patron.setEmail("patron" + i + "@example.org");
+            patron.setPhone("555-" + i);
+            patron.setAddress("Street " + i);
+            patrons.add(patron);
+        }
+
+        return patronRepository.saveAll(patrons).stream().mapToLong(Patron::getId).toArray();
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.librarymanagementsystem.benchmark;
+
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.services.bookService.BookService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cold runs clear every cache before each call, so they measure the database path; warm runs measure cache hits
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookServiceBenchmark {
+
+    @Param({"warm", "cold"})
+    public String cache;
+
+    private BenchmarkContext context;
+    private BookService bookService;
+    private long[] bookIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new BenchmarkContext();
+        bookService = context.bean(BookService.class);
+        bookIds = context.bookIds();
+
+        // Fill the caches up front; random lookups alone would take longer than the warmup to touch every ID
+        if ("warm".equals(cache)) {
+            for (long id : bookIds) {
+                bookService.getBookById(id);
+            }
+
+            bookService.getAllBooks();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCachesWhenCold() {
+        if ("cold".equals(cache)) {
+            context.clearCaches();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Book> getBookById() {
+        return bookService.getBookById(bookIds[ThreadLocalRandom.current().nextInt(bookIds.length)]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Book> getAllBooks() {
+        return bookService.getAllBooks();
+    }
+}
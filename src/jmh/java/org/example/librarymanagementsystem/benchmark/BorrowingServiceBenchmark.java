@@ -0,0 +1,72 @@
+package org.example.librarymanagementsystem.benchmark;
+
+import org.example.librarymanagementsystem.services.bookService.BookService;
+import org.example.librarymanagementsystem.services.borrowingService.BorrowingService;
+import org.example.librarymanagementsystem.services.patronService.PatronService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// One operation is a full checkout and return, so the catalog is back in its initial state after every call
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BorrowingServiceBenchmark {
+
+    @Param({"warm", "cold"})
+    public String cache;
+
+    private BenchmarkContext context;
+    private BorrowingService borrowingService;
+    private long[] bookIds;
+    private long[] patronIds;
+    private long operations;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new BenchmarkContext();
+        borrowingService = context.bean(BorrowingService.class);
+        bookIds = context.bookIds();
+        patronIds = context.patronIds();
+
+        if ("warm".equals(cache)) {
+            BookService bookService = context.bean(BookService.class);
+            PatronService patronService = context.bean(PatronService.class);
+
+            for (long id : bookIds) {
+                bookService.getBookById(id);
+            }
+
+            for (long id : patronIds) {
+                patronService.getPatronById(id);
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCachesWhenCold() {
+        if ("cold".equals(cache)) {
+            context.clearCaches();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean borrowAndReturn() {
+        // Walk book/patron pairs so each pair is used once, keeping the loan history realistic
+        long n = operations++;
+        long bookId = bookIds[(int) (n % bookIds.length)];
+        long patronId = patronIds[(int) ((n / bookIds.length) % patronIds.length)];
+
+        borrowingService.borrowBook(bookId, patronId, LocalDate.now().plusDays(14));
+        return borrowingService.returnBook(bookId, patronId);
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.librarymanagementsystem.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.librarymanagementsystem.dto.LoginRequest;
+import org.example.librarymanagementsystem.dto.LoginResponse;
+import org.example.librarymanagementsystem.exceptions.bookExceptions.BookNotFoundException;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cost of answering a request for a book that does not exist, the path ID-probing scrapers hit.
+// getMissingBook goes through the whole web tier and can be compared across commits. The other two isolate the
+// exception handling at a stack depth similar to a request's: the old rethrow-and-wrap chain, where the service
+// caught its own exception and threw a new one with a fresh stack trace, against one stackless domain exception.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotFoundBenchmark {
+
+    // Frames between the servlet container and a service method in a typical request
+    private static final int STACK_DEPTH = 120;
+
+    private BenchmarkContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        context = new BenchmarkContext();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://localhost:" + context.port() + "/api/books/";
+        authorization = "Bearer " + login();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getMissingBook() throws Exception {
+        long missingId = BenchmarkContext.BOOKS * 10L + ThreadLocalRandom.current().nextInt(1_000_000);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + missingId))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+
+        if (response.statusCode() != 404) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+
+        return response.statusCode();
+    }
+
+    @Benchmark
+    public Object rethrowChain() {
+        return atDepth(STACK_DEPTH, true);
+    }
+
+    @Benchmark
+    public Object stackless() {
+        return atDepth(STACK_DEPTH, false);
+    }
+
+    private static Object atDepth(int depth, boolean rethrow) {
+        if (depth > 0) {
+            return atDepth(depth - 1, rethrow);
+        }
+
+        try {
+            return rethrow ? findWithRethrow() : findStackless();
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    // The shape every service method had: throw, catch its own exception, throw a new copy, wrap anything else
+    private static Object findWithRethrow() {
+        try {
+            throw new StackfulNotFoundException("Book with ID 1 not found");
+        } catch (StackfulNotFoundException e) {
+            throw new StackfulNotFoundException(e.getMessage());
+        } catch (Exception e) {
+            throw new RuntimeException("An unexpected error occurred", e);
+        }
+    }
+
+    private static Object findStackless() {
+        throw new BookNotFoundException("Book with ID 1 not found");
+    }
+
+    private static final class StackfulNotFoundException extends RuntimeException {
+        StackfulNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    private String login() throws Exception {
+        String credentials = context.bean(ObjectMapper.class).writeValueAsString(new LoginRequest("user1", "123456"));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + context.port() + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials))
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        return context.bean(ObjectMapper.class).readValue(response.body(), LoginResponse.class).token();
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.librarymanagementsystem.benchmark;
+
+import org.example.librarymanagementsystem.entities.Patron;
+import org.example.librarymanagementsystem.services.patronService.PatronService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatronServiceBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private BenchmarkContext context;
+    private PatronService patronService;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new BenchmarkContext();
+        patronService = context.bean(PatronService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Patron addPatron() {
+        long n = sequence.incrementAndGet();
+
+        Patron patron = new Patron();
+        patron.setName("Benchmark " + n);
+        patron.setEmail("benchmark" + n + "@example.org"); // Unique, so the duplicate check always goes through to the insert
+        patron.setPhone("555-0000");
+        patron.setAddress("Benchmark Street");
+        return patronService.addPatron(patron);
+    }
+}
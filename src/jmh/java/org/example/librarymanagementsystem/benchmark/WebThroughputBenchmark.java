@@ -0,0 +1,89 @@
+package org.example.librarymanagementsystem.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.librarymanagementsystem.dto.LoginRequest;
+import org.example.librarymanagementsystem.dto.LoginResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Load test of the web tier: many concurrent clients fetching uncached pages, so every request blocks on JDBC.
+// The platform mode caps Tomcat at PLATFORM_THREADS workers, the virtual mode runs one virtual thread per request;
+// in both cases the connection pool is the same size, which is what bounds the virtual mode.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(WebThroughputBenchmark.CLIENTS)
+public class WebThroughputBenchmark {
+
+    static final int CLIENTS = 256;
+    static final int PLATFORM_THREADS = 32;
+    static final int POOL_SIZE = 20;
+
+    // Larger than the cached page size, so every request goes to the database
+    private static final int PAGE_SIZE = 150;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private BenchmarkContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        context = new BenchmarkContext(
+                "spring.threads.virtual.enabled=" + threads.equals("virtual"),
+                "server.tomcat.threads.max=" + PLATFORM_THREADS,
+                "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE);
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://localhost:" + context.port() + "/api/books/page?size=" + PAGE_SIZE + "&afterId=";
+        authorization = "Bearer " + login();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getBooksPage() throws Exception {
+        long afterId = ThreadLocalRandom.current().nextLong(BenchmarkContext.BOOKS - PAGE_SIZE);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + afterId))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+
+        return response.statusCode();
+    }
+
+    // Log in once per trial, as a real client would, so requests pay for token verification instead of BCrypt
+    private String login() throws Exception {
+        String credentials = context.bean(ObjectMapper.class).writeValueAsString(new LoginRequest("user1", "123456"));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + context.port() + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials))
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        return context.bean(ObjectMapper.class).readValue(response.body(), LoginResponse.class).token();
+    }
+}
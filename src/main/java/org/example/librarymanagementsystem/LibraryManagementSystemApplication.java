@@ -3,9 +3,11 @@ package org.example.librarymanagementsystem;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableCaching // Enable caching
+@EnableScheduling // Run background jobs such as the overdue loan scan
 public class LibraryManagementSystemApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,143 @@
+package org.example.librarymanagementsystem.aop;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.example.librarymanagementsystem.exceptions.LibraryException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Records latency and errors of every service call as metrics (see /actuator/metrics/library.service.calls).
+// Arguments are only formatted for a sampled fraction of calls at DEBUG and for a rate-limited number of failures,
+// so the hot path pays for a nanoTime pair and a histogram update instead of synchronous log formatting.
+@Aspect
+@Component
+public class InstrumentationAspect {
+    private static final Logger logger = LoggerFactory.getLogger(InstrumentationAspect.class);
+
+    private final MeterRegistry meterRegistry;
+    private final double argumentSampleRate;
+    private final int maxErrorLogsPerSecond;
+
+    // Meters are resolved once per method instead of looking them up in the registry on every call
+    private final ConcurrentMap<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InstrumentationAspect(MeterRegistry meterRegistry,
+                                 @Value("${library.instrumentation.argument-sample-rate:0.01}") double argumentSampleRate,
+                                 @Value("${library.instrumentation.max-error-logs-per-second:10}") int maxErrorLogsPerSecond) {
+        this.meterRegistry = meterRegistry;
+        this.argumentSampleRate = argumentSampleRate;
+        this.maxErrorLogsPerSecond = maxErrorLogsPerSecond;
+    }
+
+    @Pointcut("execution(public * org.example.librarymanagementsystem.services..*(..))") // Pointcut for all public methods in the services packages
+    public void applicationPackagePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    @Around("applicationPackagePointcut()")
+    public Object instrument(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodMeters methodMeters = meters.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                method -> new MethodMeters(joinPoint.getTarget().getClass(), method));
+        long startTime = System.nanoTime();
+
+        try {
+            Object result = joinPoint.proceed();
+            methodMeters.success.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+
+            if (logger.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < argumentSampleRate) {
+                logger.debug("Sampled call of method: {} with arguments: {} took {} us", methodMeters.name,
+                        Arrays.toString(joinPoint.getArgs()), TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+            }
+
+            return result;
+        } catch (Throwable e) {
+            methodMeters.failure.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            methodMeters.errors(e.getClass()).increment();
+
+            // Expected outcomes (unknown IDs, invalid input, ...) become 4xx responses; a flood of them is visible in the
+            // error counters and must not fill the ERROR log with request arguments
+            if (e instanceof LibraryException || e instanceof IllegalArgumentException) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Expected failure in method: {} with arguments: {}. Exception: {}", methodMeters.name,
+                            Arrays.toString(joinPoint.getArgs()), e.getMessage());
+                }
+            } else if (methodMeters.tryAcquireErrorLog()) {
+                logger.error("Exception in method: {} with arguments: {}. Exception: {}", methodMeters.name,
+                        Arrays.toString(joinPoint.getArgs()), e.getMessage());
+            }
+
+            throw e;
+        }
+    }
+
+    private class MethodMeters {
+
+        private final String className;
+        private final String methodName;
+        private final String name;
+        private final Timer success;
+        private final Timer failure;
+        private final ConcurrentMap<Class<?>, Counter> errors = new ConcurrentHashMap<>();
+
+        // Fixed one-second window for error logging
+        private final AtomicLong windowStart = new AtomicLong();
+        private final AtomicInteger logsInWindow = new AtomicInteger();
+
+        MethodMeters(Class<?> targetClass, Method method) {
+            this.className = targetClass.getSimpleName(); // The implementation, also when the proxy only exposes the interface
+            this.methodName = method.getName();
+            this.name = className + "." + methodName;
+            this.success = timer("success");
+            this.failure = timer("error");
+        }
+
+        private Timer timer(String outcome) {
+            return Timer.builder("library.service.calls")
+                    .description("Latency of service method calls")
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        Counter errors(Class<?> exceptionType) {
+            return errors.computeIfAbsent(exceptionType, type -> Counter.builder("library.service.errors")
+                    .description("Exceptions thrown by service methods, by exception type")
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("exception", type.getSimpleName())
+                    .register(meterRegistry));
+        }
+
+        boolean tryAcquireErrorLog() {
+            long now = System.nanoTime();
+            long start = windowStart.get();
+
+            if (now - start >= TimeUnit.SECONDS.toNanos(1) && windowStart.compareAndSet(start, now)) {
+                logsInWindow.set(0);
+            }
+
+            return logsInWindow.incrementAndGet() <= maxErrorLogsPerSecond;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.librarymanagementsystem.aop;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1) // Must wrap the transaction advice so every attempt runs in a fresh transaction
+public class RetryOnConflictAspect {
+    private static final Logger logger = LoggerFactory.getLogger(RetryOnConflictAspect.class);
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        int attempt = 1;
+
+        while (true) {
+            try {
+                return joinPoint.proceed();
+            } catch (RuntimeException e) {
+                if (attempt >= retryOnConflict.maxAttempts() || !isConflict(e)) {
+                    throw e;
+                }
+
+                logger.debug("Conflict in method: {} on attempt {}, retrying", joinPoint.getSignature().getName(), attempt);
+
+                // Jittered linear backoff so colliding requests do not retry in lockstep
+                long backoff = retryOnConflict.backoffMillis() * attempt;
+                Thread.sleep(backoff + ThreadLocalRandom.current().nextLong(backoff + 1));
+                attempt++;
+            }
+        }
+    }
+
+    // Conflicts surfacing at commit can arrive wrapped by the transaction infrastructure, so look through the cause chain
+    private boolean isConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockingFailureException || cause instanceof PessimisticLockingFailureException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
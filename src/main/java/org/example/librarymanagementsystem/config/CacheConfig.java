@@ -0,0 +1,53 @@
+package org.example.librarymanagementsystem.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collection;
+
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String BOOKS_CACHE = "books";
+    public static final String PATRONS_CACHE = "patrons";
+    public static final String BOOK_QUERIES_CACHE = "bookQueries";
+    public static final String PATRON_QUERIES_CACHE = "patronQueries";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+        // Caches created on demand get the bounded default spec instead of an unbounded ConcurrentMap
+        cacheManager.setCaffeine(builder(cacheProperties.getDefaultSpec()));
+
+        // Query caches hold list results and are sized separately from the entity caches so they cannot evict each other
+        cacheManager.registerCustomCache(BOOK_QUERIES_CACHE, builder(cacheProperties.specFor(BOOK_QUERIES_CACHE)).build());
+        cacheManager.registerCustomCache(PATRON_QUERIES_CACHE, builder(cacheProperties.specFor(PATRON_QUERIES_CACHE)).build());
+
+        // Entity caches are plain caches filled by @Cacheable. A loader would run on every miss before the service method,
+        // skipping its validation and the missing-ID checks, so the specs cannot use refreshAfterWrite
+        cacheManager.registerCustomCache(BOOKS_CACHE, builder(cacheProperties.specFor(BOOKS_CACHE)).build());
+        cacheManager.registerCustomCache(PATRONS_CACHE, builder(cacheProperties.specFor(PATRONS_CACHE)).build());
+
+        // Defer puts and evictions until the surrounding transaction commits, so a rolled back write never reaches the cache
+        // and a concurrent reader cannot re-cache the old row between the eviction and the commit
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    static Caffeine<Object, Object> builder(String spec) {
+        Caffeine<Object, Object> builder = Caffeine.from(spec);
+
+        // A weigher is only allowed together with maximumWeight; collections weigh as many entries as they hold
+        if (spec.contains("maximumWeight")) {
+            builder.weigher((key, value) -> value instanceof Collection<?> collection ? Math.max(1, collection.size()) : 1);
+        }
+
+        return builder;
+    }
+}
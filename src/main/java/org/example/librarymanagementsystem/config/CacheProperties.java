@@ -0,0 +1,36 @@
+package org.example.librarymanagementsystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "library.cache")
+public class CacheProperties {
+
+    // Caffeine spec used for any cache without its own entry in specs
+    private String defaultSpec = "maximumSize=10000,expireAfterWrite=10m,recordStats";
+
+    // Caffeine spec per cache name, e.g. library.cache.specs.books=maximumSize=50000,expireAfterWrite=30m
+    private Map<String, String> specs = new HashMap<>();
+
+    public String getDefaultSpec() {
+        return defaultSpec;
+    }
+
+    public void setDefaultSpec(String defaultSpec) {
+        this.defaultSpec = defaultSpec;
+    }
+
+    public Map<String, String> getSpecs() {
+        return specs;
+    }
+
+    public void setSpecs(Map<String, String> specs) {
+        this.specs = specs;
+    }
+
+    public String specFor(String cacheName) {
+        return specs.getOrDefault(cacheName, defaultSpec);
+    }
+}
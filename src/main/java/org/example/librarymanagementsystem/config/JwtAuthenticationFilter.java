@@ -0,0 +1,64 @@
+package org.example.librarymanagementsystem.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.librarymanagementsystem.utilities.JwtUtil;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Authenticates /api requests from a "Bearer" JWT instead of a password, so no request pays for a BCrypt round.
+// The token alone identifies the user and their roles; once it has been verified, later requests are a cache lookup.
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            Authentication authentication = authenticate(header.substring(BEARER_PREFIX.length()));
+
+            // An invalid token leaves the request anonymous, so protected endpoints answer 401
+            if (authentication != null) {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Authentication authenticate(String token) {
+        try {
+            Claims claims = jwtUtil.verifyToken(token);
+
+            if (claims.getSubject() == null) {
+                return null;
+            }
+
+            return UsernamePasswordAuthenticationToken.authenticated(claims.getSubject(), null, jwtUtil.extractAuthorities(claims));
+        } catch (JwtException | IllegalArgumentException e) {
+            // Bad signature, expired or malformed
+            return null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.librarymanagementsystem.config;
+
+import org.example.librarymanagementsystem.services.availabilityService.AvailabilityService;
+import org.example.librarymanagementsystem.services.facetService.FacetService;
+import org.example.librarymanagementsystem.services.holdService.HoldService;
+import org.example.librarymanagementsystem.services.patronEmailService.PatronEmailService;
+import org.example.librarymanagementsystem.services.searchService.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Loads the in-memory indexes in parallel on the application task executor, the one @Async work runs on, instead of
+// one after the other on the startup thread. With spring.threads.virtual.enabled each warm-up gets its own virtual thread.
+// Availability, patron emails and holds fall back to the database until their warm-up has finished. Search and facets
+// have no database fallback and answer 503 instead; a failed warm-up of either is retried on a fixed delay.
+@Component
+public class StartupWarmUp {
+
+    private final TaskExecutor taskExecutor;
+    private final AvailabilityService availabilityService;
+    private final PatronEmailService patronEmailService;
+    private final SearchService searchService;
+    private final FacetService facetService;
+    private final HoldService holdService;
+
+    @Autowired
+    public StartupWarmUp(@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                         AvailabilityService availabilityService, PatronEmailService patronEmailService,
+                         SearchService searchService, FacetService facetService, HoldService holdService) {
+        this.taskExecutor = taskExecutor;
+        this.availabilityService = availabilityService;
+        this.patronEmailService = patronEmailService;
+        this.searchService = searchService;
+        this.facetService = facetService;
+        this.holdService = holdService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        taskExecutor.execute(availabilityService::warmUp);
+        taskExecutor.execute(patronEmailService::warmUp);
+        taskExecutor.execute(searchService::warmUp);
+        taskExecutor.execute(facetService::warmUp);
+        taskExecutor.execute(holdService::warmUp);
+    }
+
+    @Scheduled(fixedDelayString = "${library.warm-up.retry-interval:PT1M}", initialDelayString = "${library.warm-up.retry-interval:PT1M}")
+    public void retryColdIndexes() {
+        if (!searchService.isWarmedUp()) {
+            taskExecutor.execute(searchService::warmUp);
+        }
+
+        if (!facetService.isWarmedUp()) {
+            taskExecutor.execute(facetService::warmUp);
+        }
+    }
+}
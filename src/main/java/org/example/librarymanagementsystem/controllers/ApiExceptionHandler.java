@@ -0,0 +1,57 @@
+package org.example.librarymanagementsystem.controllers;
+
+import org.example.librarymanagementsystem.exceptions.Patron.PatronNotFoundException;
+import org.example.librarymanagementsystem.exceptions.bookExceptions.BookNotFoundException;
+import org.example.librarymanagementsystem.exceptions.bookExceptions.CatalogIndexNotReadyException;
+import org.example.librarymanagementsystem.exceptions.bookExceptions.NotAvailableBookException;
+import org.example.librarymanagementsystem.exceptions.borrowingsExceptions.AlreadyReturnedBookException;
+import org.example.librarymanagementsystem.exceptions.borrowingsExceptions.BorrowingNotFoundException;
+import org.example.librarymanagementsystem.exceptions.holdExceptions.HoldNotFoundException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+// Maps every exception a controller lets through to a status code in one place. Services throw the domain exception
+// once and nothing re-wraps it on the way up. Spring MVC's own exceptions (missing parameters, bad media types, ...)
+// keep their standard statuses through ResponseEntityExceptionHandler.
+@ControllerAdvice
+public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().build();
+    }
+
+    @ExceptionHandler({BookNotFoundException.class, PatronNotFoundException.class, BorrowingNotFoundException.class,
+            HoldNotFoundException.class})
+    public ResponseEntity<Void> handleNotFound(RuntimeException e) {
+        return ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler({NotAvailableBookException.class, AlreadyReturnedBookException.class})
+    public ResponseEntity<Void> handleConflict(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    // Search and facets while their in-memory index is still loading; clients are told when to try again
+    @ExceptionHandler(CatalogIndexNotReadyException.class)
+    public ResponseEntity<Void> handleNotReady(CatalogIndexNotReadyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<Void> handleAuthenticationFailure(AuthenticationException e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+
+    // Only failures nobody expected get logged with their stack trace
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Void> handleUnexpected(Exception e) {
+        logger.error("Unhandled exception in request", e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.librarymanagementsystem.controllers;
+
+import org.example.librarymanagementsystem.dto.LoginRequest;
+import org.example.librarymanagementsystem.dto.LoginResponse;
+import org.example.librarymanagementsystem.utilities.JwtUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@Controller
+@RequestMapping("/api/auth")
+public class AuthController {
+
+    private static final String TOKEN_TYPE = "Bearer";
+
+    private final AuthenticationManager authenticationManager;
+    private final JwtUtil jwtUtil;
+
+    @Autowired
+    public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil) {
+        this.authenticationManager = authenticationManager;
+        this.jwtUtil = jwtUtil;
+    }
+
+    @PostMapping("/login")
+    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request) {
+        if (request == null || request.username() == null || request.password() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Authentication authentication = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(request.username(), request.password()));
+
+        String token = jwtUtil.generateToken((UserDetails) authentication.getPrincipal());
+
+        return ResponseEntity.ok(new LoginResponse(token, TOKEN_TYPE, jwtUtil.getExpiration().toSeconds()));
+    }
+}
@@ -1,14 +1,33 @@
 package org.example.librarymanagementsystem.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.librarymanagementsystem.dto.BookFacetQuery;
+import org.example.librarymanagementsystem.dto.BookFacets;
+import org.example.librarymanagementsystem.dto.BookImportResult;
+import org.example.librarymanagementsystem.dto.BookResponse;
 import org.example.librarymanagementsystem.exceptions.bookExceptions.BookNotFoundException;
 import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.services.bookService.BookImportFormat;
+import org.example.librarymanagementsystem.services.bookService.BookImportService;
 import org.example.librarymanagementsystem.services.bookService.BookService;
+import org.example.librarymanagementsystem.services.bookService.CatalogVersion;
+import org.example.librarymanagementsystem.services.facetService.FacetService;
+import org.example.librarymanagementsystem.services.searchService.SearchService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,93 +35,173 @@ import java.util.Optional;
 @RequestMapping("/api")
 public class BookController {
 
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final SearchService searchService;
+    private final FacetService facetService;
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, BookImportService bookImportService, SearchService searchService,
+                          FacetService facetService, CatalogVersion catalogVersion, ObjectMapper objectMapper) {
         this.bookService = bookService;
+        this.bookImportService = bookImportService;
+        this.searchService = searchService;
+        this.facetService = facetService;
+        this.catalogVersion = catalogVersion;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/books")
-    public ResponseEntity<List<Book>> getAllBooks() {
-        try {
-            List<Book> books = bookService.getAllBooks();
-            return ResponseEntity.ok(books);
-        } catch (BookNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+    public ResponseEntity<StreamingResponseBody> getAllBooks(WebRequest request) {
+        // Read the version before the rows: a change committed mid-stream then only costs the client one extra download
+        CatalogVersion.Snapshot version = catalogVersion.current();
+
+        // Sets ETag and Last-Modified on the response, and on a match the client's copy is current without reading the catalog
+        if (request.checkNotModified(catalogVersion.etag(version), version.lastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
         }
+
+        // Fetch the first page eagerly so an empty catalog or a database error still maps to a proper status code
+        List<Book> firstPage = bookService.getBooksPage(0L, STREAM_BATCH_SIZE);
+
+        if (firstPage.isEmpty()) {
+            throw new BookNotFoundException("No books found");
+        }
+
+        StreamingResponseBody body = outputStream -> writeBooks(firstPage, outputStream);
+
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
-    @GetMapping("/books/{id}")
-    public ResponseEntity<Book> getBookById(@PathVariable Long id) {
-        try {
+    @GetMapping("/books/page")
+    public ResponseEntity<List<BookResponse>> getBooksPage(@RequestParam(defaultValue = "0") Long afterId,
+                                                   @RequestParam(defaultValue = "50") int size) {
+        List<Book> books = bookService.getBooksPage(afterId, size);
 
-            Optional<Book> book = bookService.getBookById(id);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
 
-            return book.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().build();
-        } catch (BookNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        // Only advertise a next cursor when the page is full, otherwise the client has reached the end
+        if (books.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(books.get(books.size() - 1).getId()));
         }
+
+        return response.body(books.stream().map(BookResponse::from).toList());
     }
 
-    @PostMapping("/books")
-    public ResponseEntity<Book> addBook(@RequestBody Book book) {
-        try {
-            Book newBook = bookService.addBook(book);
+    // Ranked search over title, author, genre, publisher and ISBN; every word of the query has to match
+    @GetMapping("/books/search")
+    public ResponseEntity<List<BookResponse>> searchBooks(@RequestParam("q") String query,
+                                                  @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchService.search(query, limit).stream().map(BookResponse::from).toList());
+    }
 
-            if (newBook == null) {
-                return ResponseEntity.badRequest().build();
-            }
+    // Counts per genre, publisher, publication year bucket and availability, computed without loading any book
+    @GetMapping("/books/facets")
+    public ResponseEntity<BookFacets> getBookFacets(@RequestParam(required = false) String genre,
+                                                    @RequestParam(required = false) String publisher,
+                                                    @RequestParam(required = false) Integer yearFrom,
+                                                    @RequestParam(required = false) Integer yearTo,
+                                                    @RequestParam(required = false) Boolean available,
+                                                    @RequestParam(defaultValue = "10") int yearBucket,
+                                                    @RequestParam(defaultValue = "20") int limit) {
+        BookFacetQuery query = new BookFacetQuery(genre, publisher, yearFrom, yearTo, available, yearBucket, limit);
+        return ResponseEntity.ok(facetService.getFacets(query));
+    }
+
+    @GetMapping("/books/{id}")
+    public ResponseEntity<BookResponse> getBookById(@PathVariable Long id) {
+        Optional<Book> book = bookService.getBookById(id);
+
+        return book.map(BookResponse::from)
+                .map(response -> ConditionalGet.ok(response, response.etag(), response.updatedAt()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/books")
+    public ResponseEntity<BookResponse> addBook(@RequestBody Book book) {
+        Book newBook = bookService.addBook(book);
 
-            return ResponseEntity.ok(newBook);
-        } catch (IllegalArgumentException e) {
+        if (newBook == null) {
             return ResponseEntity.badRequest().build();
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
+
+        return ResponseEntity.ok(BookResponse.from(newBook));
     }
 
-    @PutMapping("/books/{id}")
-    public ResponseEntity<Book> updateBook(@PathVariable Long id, @RequestBody Book book) {
-        try {
-            Book updatedBook = bookService.updateBook(id, book);
+    // The body is read line by line while it is uploaded, so the file never has to fit in memory
+    @PostMapping(value = "/books/import", consumes = {CSV, NDJSON})
+    public ResponseEntity<BookImportResult> importBooks(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                        @RequestParam(required = false) String importId,
+                                                        InputStream body) {
+        BookImportFormat format = contentType.startsWith(CSV) ? BookImportFormat.CSV : BookImportFormat.NDJSON;
+        BookImportResult result = bookImportService.importBooks(body, format, importId);
 
-            if (updatedBook == null) {
-                return ResponseEntity.badRequest().build();
-            }
+        if (result.status() == BookImportResult.Status.FAILED) {
+            return ResponseEntity.unprocessableEntity().body(result);
+        }
+
+        return ResponseEntity.ok(result);
+    }
 
-            return ResponseEntity.ok(updatedBook);
-        } catch (IllegalArgumentException e) {
+    @GetMapping("/books/import/{importId}")
+    public ResponseEntity<BookImportResult> getImportProgress(@PathVariable String importId) {
+        return bookImportService.getImportProgress(importId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/books/{id}")
+    public ResponseEntity<BookResponse> updateBook(@PathVariable Long id, @RequestBody Book book) {
+        Book updatedBook = bookService.updateBook(id, book);
+
+        if (updatedBook == null) {
             return ResponseEntity.badRequest().build();
-        } catch (BookNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
+
+        return ResponseEntity.ok(BookResponse.from(updatedBook));
     }
 
     @DeleteMapping("/books/{id}")
     public ResponseEntity<Void> deleteBook(@PathVariable Long id) {
-        try {
-            boolean deleted = bookService.deleteBook(id);
+        boolean deleted = bookService.deleteBook(id);
 
-            if (!deleted) {
-                return ResponseEntity.badRequest().build();
+        if (!deleted) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.noContent().build();
+    }
+
+    // Writes the catalog as a single JSON array, pulling one keyset page at a time so memory stays bounded by the batch size
+    private void writeBooks(List<Book> firstPage, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartArray();
+
+            List<Book> page = firstPage;
+
+            while (!page.isEmpty()) {
+                for (Book book : page) {
+                    generator.writeObject(BookResponse.from(book));
+                }
+
+                generator.flush();
+
+                if (page.size() < STREAM_BATCH_SIZE) {
+                    break;
+                }
+
+                page = bookService.getBooksPage(page.get(page.size() - 1).getId(), STREAM_BATCH_SIZE);
             }
 
-            return ResponseEntity.noContent().build();
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().build();
-        } catch (BookNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            generator.writeEndArray();
         }
     }
 }
@@ -1,24 +1,31 @@
 package org.example.librarymanagementsystem.controllers;
 
+import org.example.librarymanagementsystem.dto.BorrowingHistoryEntry;
+import org.example.librarymanagementsystem.dto.BorrowingRequest;
+import org.example.librarymanagementsystem.dto.BorrowingResponse;
+import org.example.librarymanagementsystem.dto.BorrowingResult;
 import org.example.librarymanagementsystem.entities.Borrowing;
-import org.example.librarymanagementsystem.exceptions.Patron.PatronNotFoundException;
-import org.example.librarymanagementsystem.exceptions.bookExceptions.BookNotFoundException;
-import org.example.librarymanagementsystem.exceptions.bookExceptions.NotAvailableBookException;
 import org.example.librarymanagementsystem.services.borrowingService.BorrowingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Controller
 @RequestMapping("/api")
 public class BorrowingsController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BorrowingService borrowingsService;
 
     @Autowired
@@ -27,33 +34,53 @@ public class BorrowingsController {
     }
 
     @PostMapping("/borrow/{bookId}/patron/{patronId}")
-    public ResponseEntity<Borrowing> borrowBook(@PathVariable Long bookId, @PathVariable Long patronId) {
-        try {
-            LocalDate returnDate = LocalDate.now().plusDays(14);
-            Borrowing borrowing = borrowingsService.borrowBook(bookId, patronId, returnDate);
-            return ResponseEntity.ok(borrowing);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().build();
-        } catch (BookNotFoundException | PatronNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        } catch (NotAvailableBookException e) {
-            return ResponseEntity.status(409).build(); // Conflict
-        } catch (Exception e) {
-            return ResponseEntity.status(500).build(); // Internal Server Error
-        }
+    public ResponseEntity<BorrowingResponse> borrowBook(@PathVariable Long bookId, @PathVariable Long patronId) {
+        LocalDate returnDate = LocalDate.now().plusDays(14);
+        Borrowing borrowing = borrowingsService.borrowBook(bookId, patronId, returnDate);
+        return ResponseEntity.ok(BorrowingResponse.from(borrowing));
     }
 
     @PutMapping("/return/{bookId}/patron/{patronId}")
     public ResponseEntity<Boolean> returnBook(@PathVariable Long bookId, @PathVariable Long patronId) {
-        try {
-            Boolean returned = borrowingsService.returnBook(bookId, patronId);
-            return ResponseEntity.ok(returned);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().build();
-        } catch (BookNotFoundException | PatronNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        } catch (Exception e) {
-            return ResponseEntity.status(500).build(); // Internal Server Error
+        Boolean returned = borrowingsService.returnBook(bookId, patronId);
+        return ResponseEntity.ok(returned);
+    }
+
+    @PostMapping("/borrow/batch")
+    public ResponseEntity<List<BorrowingResult>> borrowBooks(@RequestBody List<BorrowingRequest> requests) {
+        LocalDate returnDate = LocalDate.now().plusDays(14);
+        List<BorrowingResult> results = borrowingsService.borrowBooks(requests, returnDate);
+        return ResponseEntity.ok(results); // Per-item outcomes are in the body, so a partially failed batch is still 200
+    }
+
+    @PutMapping("/return/batch")
+    public ResponseEntity<List<BorrowingResult>> returnBooks(@RequestBody List<BorrowingRequest> requests) {
+        List<BorrowingResult> results = borrowingsService.returnBooks(requests);
+        return ResponseEntity.ok(results);
+    }
+
+    @GetMapping("/patrons/{patronId}/borrowings")
+    public ResponseEntity<List<BorrowingHistoryEntry>> getPatronHistory(@PathVariable Long patronId,
+                                                                        @RequestParam(required = false) String before,
+                                                                        @RequestParam(defaultValue = "50") int size) {
+        return historyPage(borrowingsService.getPatronHistory(patronId, before, size), size);
+    }
+
+    @GetMapping("/books/{bookId}/borrowings")
+    public ResponseEntity<List<BorrowingHistoryEntry>> getBookHistory(@PathVariable Long bookId,
+                                                                      @RequestParam(required = false) String before,
+                                                                      @RequestParam(defaultValue = "50") int size) {
+        return historyPage(borrowingsService.getBookHistory(bookId, before, size), size);
+    }
+
+    // Only advertise a next cursor when the page is full, otherwise the client has reached the oldest loan
+    private ResponseEntity<List<BorrowingHistoryEntry>> historyPage(List<BorrowingHistoryEntry> history, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (history.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, history.get(history.size() - 1).cursor());
         }
+
+        return response.body(history);
     }
 }
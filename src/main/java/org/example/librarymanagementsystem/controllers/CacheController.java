@@ -0,0 +1,57 @@
+package org.example.librarymanagementsystem.controllers;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Controller
+@RequestMapping("/api")
+public class CacheController {
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public CacheController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+
+            // Caches may be wrapped in a transaction-aware decorator, so go through the native cache
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                stats.put(name, toMap(nativeCache));
+            }
+        }
+
+        return ResponseEntity.ok(stats);
+    }
+
+    private Map<String, Object> toMap(com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+        CacheStats cacheStats = nativeCache.stats(); // All zeros unless the cache spec includes recordStats
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("estimatedSize", nativeCache.estimatedSize());
+        values.put("hitCount", cacheStats.hitCount());
+        values.put("missCount", cacheStats.missCount());
+        values.put("hitRate", cacheStats.hitRate());
+        values.put("evictionCount", cacheStats.evictionCount());
+        values.put("evictionWeight", cacheStats.evictionWeight());
+        values.put("loadSuccessCount", cacheStats.loadSuccessCount());
+        values.put("loadFailureCount", cacheStats.loadFailureCount());
+        values.put("averageLoadPenaltyNanos", cacheStats.averageLoadPenalty());
+        return values;
+    }
+}
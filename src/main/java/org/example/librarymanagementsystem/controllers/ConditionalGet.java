@@ -0,0 +1,25 @@
+package org.example.librarymanagementsystem.controllers;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+
+// 200 responses carrying validators. For GET and HEAD, Spring compares them with If-None-Match and If-Modified-Since and
+// answers 304 Not Modified without serializing the body. no-cache lets clients and proxies keep the copy but revalidate it
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static <T> ResponseEntity<T> ok(T body, String etag, Instant lastModified) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag);
+
+        // Rows written before the timestamp column existed only have an ETag
+        if (lastModified != null) {
+            response.lastModified(lastModified);
+        }
+
+        return response.body(body);
+    }
+}
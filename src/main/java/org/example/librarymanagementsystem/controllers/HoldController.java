@@ -0,0 +1,38 @@
+package org.example.librarymanagementsystem.controllers;
+
+import org.example.librarymanagementsystem.dto.HoldResult;
+import org.example.librarymanagementsystem.services.holdService.HoldService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+@Controller
+@RequestMapping("/api")
+public class HoldController {
+
+    private final HoldService holdService;
+
+    @Autowired
+    public HoldController(HoldService holdService) {
+        this.holdService = holdService;
+    }
+
+    // Joins the book's queue instead of retrying the checkout; the copy is lent to the holder when it is returned
+    @PostMapping("/holds/{bookId}/patron/{patronId}")
+    public ResponseEntity<HoldResult> placeHold(@PathVariable Long bookId, @PathVariable Long patronId) {
+        HoldResult hold = holdService.placeHold(bookId, patronId);
+        return ResponseEntity.ok(hold);
+    }
+
+    @DeleteMapping("/holds/{bookId}/patron/{patronId}")
+    public ResponseEntity<Boolean> cancelHold(@PathVariable Long bookId, @PathVariable Long patronId) {
+        boolean cancelled = holdService.cancelHold(bookId, patronId);
+        return ResponseEntity.ok(cancelled);
+    }
+
+    @GetMapping("/holds/{bookId}")
+    public ResponseEntity<Integer> getQueueLength(@PathVariable Long bookId) {
+        return ResponseEntity.ok(holdService.getQueueLength(bookId));
+    }
+}
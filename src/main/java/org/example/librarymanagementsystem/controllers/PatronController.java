@@ -1,10 +1,9 @@
 package org.example.librarymanagementsystem.controllers;
 
-import org.example.librarymanagementsystem.exceptions.Patron.PatronNotFoundException;
+import org.example.librarymanagementsystem.dto.PatronResponse;
 import org.example.librarymanagementsystem.entities.Patron;
 import org.example.librarymanagementsystem.services.patronService.PatronService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
@@ -24,84 +23,51 @@ public class PatronController {
     }
 
     @GetMapping("/patrons")
-    public ResponseEntity<List<Patron>> getAllPatrons() {
-        try {
-            List<Patron> patrons = patronService.getAllPatrons();
-            return ResponseEntity.ok(patrons);
-        } catch (PatronNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
-        }
+    public ResponseEntity<List<PatronResponse>> getAllPatrons() {
+        List<Patron> patrons = patronService.getAllPatrons();
+        return ResponseEntity.ok(patrons.stream().map(PatronResponse::from).toList());
     }
 
     @GetMapping("/patrons/{id}")
-    public ResponseEntity<Patron> getPatronById(@PathVariable Long id) {
-        try {
-
-            Optional<Patron> patron = patronService.getPatronById(id);
+    public ResponseEntity<PatronResponse> getPatronById(@PathVariable Long id) {
+        Optional<Patron> patron = patronService.getPatronById(id);
 
-            return patron.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().build();
-        } catch (PatronNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        return patron.map(PatronResponse::from)
+                .map(response -> ConditionalGet.ok(response, response.etag(), response.updatedAt()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping("/patrons")
-    public ResponseEntity<Patron> addPatron(@RequestBody Patron patron) {
-        try {
-            Patron newPatron = patronService.addPatron(patron);
-
-            if (newPatron == null) {
-                return ResponseEntity.badRequest().build();
-            }
+    public ResponseEntity<PatronResponse> addPatron(@RequestBody Patron patron) {
+        Patron newPatron = patronService.addPatron(patron);
 
-            return ResponseEntity.ok(newPatron);
-        } catch (IllegalArgumentException e) {
+        if (newPatron == null) {
             return ResponseEntity.badRequest().build();
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
+
+        return ResponseEntity.ok(PatronResponse.from(newPatron));
     }
 
     @PutMapping("/patrons/{id}")
-    public ResponseEntity<Patron> updatePatron(@PathVariable Long id, @RequestBody Patron patron) {
-        try {
-            Patron updatedPatron = patronService.updatePatron(id, patron);
-
-            if (updatedPatron == null) {
-                return ResponseEntity.badRequest().build();
-            }
+    public ResponseEntity<PatronResponse> updatePatron(@PathVariable Long id, @RequestBody Patron patron) {
+        Patron updatedPatron = patronService.updatePatron(id, patron);
 
-            return ResponseEntity.ok(updatedPatron);
-        } catch (IllegalArgumentException e) {
+        if (updatedPatron == null) {
             return ResponseEntity.badRequest().build();
-        } catch (PatronNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
+
+        return ResponseEntity.ok(PatronResponse.from(updatedPatron));
     }
 
     @DeleteMapping("/patrons/{id}")
     public ResponseEntity<Boolean> deletePatron(@PathVariable Long id) {
-        try {
-            boolean deleted = patronService.deletePatron(id);
+        boolean deleted = patronService.deletePatron(id);
 
-            if (!deleted) {
-                return ResponseEntity.badRequest().build();
-            }
-
-            return ResponseEntity.ok(true);
-        } catch (IllegalArgumentException e) {
+        if (!deleted) {
             return ResponseEntity.badRequest().build();
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
+
+        return ResponseEntity.ok(true);
     }
 
 }
@@ -0,0 +1,5 @@
+package org.example.librarymanagementsystem.dto;
+
+// Minimal projection of a book row, used to warm the availability index without loading full entities
+public record BookAvailability(Long id, boolean available) {
+}
@@ -0,0 +1,6 @@
+package org.example.librarymanagementsystem.dto;
+
+// Filters of a faceted browse request; null filters match every book
+public record BookFacetQuery(String genre, String publisher, Integer yearFrom, Integer yearTo, Boolean available,
+                             int yearBucket, int limit) {
+}
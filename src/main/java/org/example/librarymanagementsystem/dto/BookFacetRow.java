@@ -0,0 +1,5 @@
+package org.example.librarymanagementsystem.dto;
+
+// Minimal projection of a book row, used to load the facet columns without loading full entities
+public record BookFacetRow(Long id, String genre, String publisher, int publicationYear, boolean available) {
+}
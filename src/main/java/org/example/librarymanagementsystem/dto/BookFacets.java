@@ -0,0 +1,8 @@
+package org.example.librarymanagementsystem.dto;
+
+import java.util.List;
+
+// Each facet is counted with every filter applied except its own, so the client can offer the alternatives to a selection
+public record BookFacets(int total, List<FacetCount> genre, List<FacetCount> publisher,
+                         List<FacetCount> publicationYear, List<FacetCount> available) {
+}
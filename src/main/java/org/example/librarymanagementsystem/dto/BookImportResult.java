@@ -0,0 +1,14 @@
+package org.example.librarymanagementsystem.dto;
+
+import java.util.List;
+
+// Progress of a bulk catalog import; the same shape is returned while running and once finished
+public record BookImportResult(String importId, Status status, long processed, long imported, long rejected,
+                               List<String> errors, long elapsedMillis) {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
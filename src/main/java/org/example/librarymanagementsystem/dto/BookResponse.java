@@ -0,0 +1,20 @@
+package org.example.librarymanagementsystem.dto;
+
+import org.example.librarymanagementsystem.entities.Book;
+
+import java.time.Instant;
+
+// What the API returns for a book: a flat copy of its columns, serialized without touching the entity
+public record BookResponse(Long id, String title, String author, int publicationYear, String isbn, String genre,
+                           String publisher, int pages, boolean available, Long version, Instant updatedAt) {
+
+    public static BookResponse from(Book book) {
+        return new BookResponse(book.getId(), book.getTitle(), book.getAuthor(), book.getPublicationYear(), book.getIsbn(),
+                book.getGenre(), book.getPublisher(), book.getPages(), book.isAvailable(), book.getVersion(), book.getUpdatedAt());
+    }
+
+    // Strong validator: every write to the row, including the bulk availability updates, bumps its version
+    public String etag() {
+        return "\"book-" + id + "-" + (version == null ? 0 : version) + "\"";
+    }
+}
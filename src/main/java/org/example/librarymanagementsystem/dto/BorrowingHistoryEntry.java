@@ -0,0 +1,14 @@
+package org.example.librarymanagementsystem.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// One loan of a patron's or a book's history, read in a single query without loading either entity
+public record BorrowingHistoryEntry(Long borrowingId, Long bookId, String bookTitle, Long patronId, String patronName,
+                                    LocalDate borrowingDate, LocalDate returnDate, boolean returned, BigDecimal fine) {
+
+    // Position of this entry in a history, passed back as the cursor of the next page
+    public String cursor() {
+        return borrowingDate + "," + borrowingId;
+    }
+}
@@ -0,0 +1,5 @@
+package org.example.librarymanagementsystem.dto;
+
+// One (book, patron) pair of a batch borrow or return
+public record BorrowingRequest(Long bookId, Long patronId) {
+}
@@ -0,0 +1,17 @@
+package org.example.librarymanagementsystem.dto;
+
+import org.example.librarymanagementsystem.entities.Borrowing;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// What the API returns for a loan. The book and patron are referenced by id only: reading a lazy proxy's id does not
+// initialize it, so building this never loads either association
+public record BorrowingResponse(Long id, Long bookId, Long patronId, LocalDate borrowingDate, LocalDate returnDate,
+                                boolean returned, BigDecimal fine) {
+
+    public static BorrowingResponse from(Borrowing borrowing) {
+        return new BorrowingResponse(borrowing.getId(), borrowing.getBook().getId(), borrowing.getPatron().getId(),
+                borrowing.getBorrowingDate(), borrowing.getReturnDate(), borrowing.isReturned(), borrowing.getFine());
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.librarymanagementsystem.dto;
+
+// Outcome of one item of a batch borrow or return; failed items do not abort the rest of the batch
+public record BorrowingResult(Long bookId, Long patronId, Status status, Long borrowingId, String message) {
+
+    public enum Status {
+        BORROWED,
+        RETURNED,
+        INVALID,
+        BOOK_NOT_FOUND,
+        PATRON_NOT_FOUND,
+        NOT_AVAILABLE,
+        NOT_BORROWED
+    }
+
+    public static BorrowingResult success(BorrowingRequest request, Status status, Long borrowingId) {
+        return new BorrowingResult(request.bookId(), request.patronId(), status, borrowingId, null);
+    }
+
+    public static BorrowingResult failure(BorrowingRequest request, Status status, String message) {
+        return new BorrowingResult(request.bookId(), request.patronId(), status, null, message);
+    }
+}
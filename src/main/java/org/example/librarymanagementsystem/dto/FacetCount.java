@@ -0,0 +1,4 @@
+package org.example.librarymanagementsystem.dto;
+
+public record FacetCount(String value, int count) {
+}
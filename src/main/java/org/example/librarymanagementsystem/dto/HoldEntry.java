@@ -0,0 +1,5 @@
+package org.example.librarymanagementsystem.dto;
+
+// Projection of a hold with only the ids the queues need, so loading them never touches books or patrons
+public record HoldEntry(Long holdId, Long bookId, Long patronId) {
+}
@@ -0,0 +1,5 @@
+package org.example.librarymanagementsystem.dto;
+
+// A placed hold and how many holds are ahead of it in the book's queue
+public record HoldResult(Long holdId, Long bookId, Long patronId, int position) {
+}
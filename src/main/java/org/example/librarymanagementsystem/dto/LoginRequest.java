@@ -0,0 +1,4 @@
+package org.example.librarymanagementsystem.dto;
+
+public record LoginRequest(String username, String password) {
+}
@@ -0,0 +1,4 @@
+package org.example.librarymanagementsystem.dto;
+
+public record LoginResponse(String token, String tokenType, long expiresIn) {
+}
@@ -0,0 +1,7 @@
+package org.example.librarymanagementsystem.dto;
+
+import java.time.LocalDate;
+
+// Projection of an open loan past its return date, read by the overdue scan without loading the borrowing
+public record OverdueLoan(Long borrowingId, Long bookId, Long patronId, LocalDate returnDate) {
+}
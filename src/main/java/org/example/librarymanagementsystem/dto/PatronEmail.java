@@ -0,0 +1,5 @@
+package org.example.librarymanagementsystem.dto;
+
+// Minimal projection of a patron row, used to warm the email filter without loading full entities
+public record PatronEmail(Long id, String email) {
+}
@@ -0,0 +1,18 @@
+package org.example.librarymanagementsystem.dto;
+
+import org.example.librarymanagementsystem.entities.Patron;
+
+import java.time.Instant;
+
+// What the API returns for a patron
+public record PatronResponse(Long id, String name, String email, String phone, String address, Long version, Instant updatedAt) {
+
+    public static PatronResponse from(Patron patron) {
+        return new PatronResponse(patron.getId(), patron.getName(), patron.getEmail(), patron.getPhone(), patron.getAddress(),
+                patron.getVersion(), patron.getUpdatedAt());
+    }
+
+    public String etag() {
+        return "\"patron-" + id + "-" + (version == null ? 0 : version) + "\"";
+    }
+}
@@ -1,13 +1,17 @@
 package org.example.librarymanagementsystem.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
 @Table(name = "books")
 public class Book {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "books_seq") // IDENTITY would disable insert batching
+    @SequenceGenerator(name = "books_seq", sequenceName = "books_seq", allocationSize = 50) // Pooled: one sequence call per 50 rows
     @Column(name = "id")
     private Long id;
 
@@ -35,6 +39,14 @@ public class Book {
     @Column(name = "is_available")
     private boolean isAvailable;
 
+    @Version // Optimistic locking: concurrent writers of the same row fail instead of silently overwriting each other
+    @Column(name = "version")
+    private Long version;
+
+    @UpdateTimestamp // Set on insert and update; the bulk availability updates in BookRepository set it themselves
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     public Long getId() {
         return id;
     }
@@ -106,4 +118,20 @@ public class Book {
     public void setAvailable(boolean available) {
         isAvailable = available;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
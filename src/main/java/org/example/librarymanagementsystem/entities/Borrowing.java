@@ -2,14 +2,24 @@ package org.example.librarymanagementsystem.entities;
 
 import jakarta.persistence.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-    @Table(name = "borrowings")
+@Table(name = "borrowings", indexes = {
+        // Active loan lookups: (book, patron, open) is a point lookup instead of a scan of the pair's history
+        @Index(name = "idx_borrowings_active_loan", columnList = "book_id, patron_id, returned"),
+        // Overdue scan: open loans in due-date order, read as a range that resumes after the last loan seen
+        @Index(name = "idx_borrowings_open_due", columnList = "returned, return_date, id"),
+        // Histories: a patron's or a book's loans newest first, paged by seeking past the last (date, id) seen
+        @Index(name = "idx_borrowings_patron_history", columnList = "patron_id, borrowing_date, id"),
+        @Index(name = "idx_borrowings_book_history", columnList = "book_id, borrowing_date, id")
+})
 public class Borrowing {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "borrowings_seq") // IDENTITY would disable insert batching
+    @SequenceGenerator(name = "borrowings_seq", sequenceName = "borrowings_seq", allocationSize = 50) // Pooled: one sequence call per 50 rows
     @Column(name = "id")
     private Long id;
 
@@ -30,6 +40,13 @@ public class Borrowing {
     @Column(name = "returned")
     private boolean returned;
 
+    @Column(name = "fine", precision = 10, scale = 2) // Accrued nightly while the loan is open, settled on return
+    private BigDecimal fine = BigDecimal.ZERO;
+
+    @Version // Optimistic locking: concurrent writers of the same row fail instead of silently overwriting each other
+    @Column(name = "version")
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -77,4 +94,20 @@ public class Borrowing {
     public void setReturned(boolean returned) {
         this.returned = returned;
     }
+
+    public BigDecimal getFine() {
+        return fine;
+    }
+
+    public void setFine(BigDecimal fine) {
+        this.fine = fine;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,45 @@
+package org.example.librarymanagementsystem.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+// Position an incremental job has processed up to, so it resumes there after a restart instead of starting over
+@Entity
+@Table(name = "job_checkpoints")
+public class JobCheckpoint {
+
+    @Id
+    @Column(name = "job_name")
+    private String jobName;
+
+    @Column(name = "mark_date")
+    private LocalDate markDate;
+
+    @Column(name = "mark_id")
+    private Long markId;
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public LocalDate getMarkDate() {
+        return markDate;
+    }
+
+    public void setMarkDate(LocalDate markDate) {
+        this.markDate = markDate;
+    }
+
+    public Long getMarkId() {
+        return markId;
+    }
+
+    public void setMarkId(Long markId) {
+        this.markId = markId;
+    }
+}
@@ -1,9 +1,12 @@
 package org.example.librarymanagementsystem.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
-@Table(name = "patrons")
+@Table(name = "patrons", uniqueConstraints = @UniqueConstraint(name = "uk_patrons_email", columnNames = "email"))
 public class Patron {
 
     @Id
@@ -23,6 +26,14 @@ public class Patron {
     @Column(name = "address")
     private String address;
 
+    @Version // Feeds the ETag of GET /api/patrons/{id} and stops concurrent edits from overwriting each other
+    @Column(name = "version")
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     public Long getId() {
         return id;
     }
@@ -62,4 +73,20 @@ public class Patron {
     public void setAddress(String address) {
         this.address = address;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
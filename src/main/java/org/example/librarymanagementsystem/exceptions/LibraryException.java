@@ -0,0 +1,11 @@
+package org.example.librarymanagementsystem.exceptions;
+
+// Base of the expected outcomes a request can end in (unknown ID, book already out, ...). They are thrown on hot paths,
+// such as clients probing IDs, and only ever turned into a status code by ApiExceptionHandler, so they skip capturing
+// a stack trace, which is most of the cost of throwing
+public abstract class LibraryException extends RuntimeException {
+
+    protected LibraryException(String message) {
+        super(message, null, false, false);
+    }
+}
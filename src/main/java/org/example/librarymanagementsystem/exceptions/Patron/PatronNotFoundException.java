@@ -1,6 +1,8 @@
 package org.example.librarymanagementsystem.exceptions.Patron;
 
-public class PatronNotFoundException extends RuntimeException {
+import org.example.librarymanagementsystem.exceptions.LibraryException;
+
+public class PatronNotFoundException extends LibraryException {
     public PatronNotFoundException(String message) {
         super(message);
     }
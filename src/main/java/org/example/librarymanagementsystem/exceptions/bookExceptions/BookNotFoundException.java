@@ -1,6 +1,8 @@
 package org.example.librarymanagementsystem.exceptions.bookExceptions;
 
-public class BookNotFoundException extends RuntimeException {
+import org.example.librarymanagementsystem.exceptions.LibraryException;
+
+public class BookNotFoundException extends LibraryException {
     public BookNotFoundException(String message) {
         super(message);
     }
@@ -0,0 +1,9 @@
+package org.example.librarymanagementsystem.exceptions.bookExceptions;
+
+import org.example.librarymanagementsystem.exceptions.LibraryException;
+
+public class CatalogIndexNotReadyException extends LibraryException {
+    public CatalogIndexNotReadyException(String message) {
+        super(message);
+    }
+}
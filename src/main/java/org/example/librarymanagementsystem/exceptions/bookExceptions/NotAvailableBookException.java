@@ -1,6 +1,8 @@
 package org.example.librarymanagementsystem.exceptions.bookExceptions;
 
-public class NotAvailableBookException extends RuntimeException {
+import org.example.librarymanagementsystem.exceptions.LibraryException;
+
+public class NotAvailableBookException extends LibraryException {
     public NotAvailableBookException(String message) {
         super(message);
     }
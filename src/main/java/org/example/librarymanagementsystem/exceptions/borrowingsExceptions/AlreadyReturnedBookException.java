@@ -1,6 +1,8 @@
 package org.example.librarymanagementsystem.exceptions.borrowingsExceptions;
 
-public class AlreadyReturnedBookException extends RuntimeException {
+import org.example.librarymanagementsystem.exceptions.LibraryException;
+
+public class AlreadyReturnedBookException extends LibraryException {
     public AlreadyReturnedBookException(String message) {
         super(message);
     }
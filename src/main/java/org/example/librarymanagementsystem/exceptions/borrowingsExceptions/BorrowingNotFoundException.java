@@ -0,0 +1,9 @@
+package org.example.librarymanagementsystem.exceptions.borrowingsExceptions;
+
+import org.example.librarymanagementsystem.exceptions.LibraryException;
+
+public class BorrowingNotFoundException extends LibraryException {
+    public BorrowingNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.librarymanagementsystem.exceptions.holdExceptions;
+
+import org.example.librarymanagementsystem.exceptions.LibraryException;
+
+public class HoldNotFoundException extends LibraryException {
+    public HoldNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,48 @@
 package org.example.librarymanagementsystem.repositories;
 
+import jakarta.persistence.LockModeType;
+import org.example.librarymanagementsystem.dto.BookAvailability;
+import org.example.librarymanagementsystem.dto.BookFacetRow;
 import org.example.librarymanagementsystem.entities.Book;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface BookRepository extends JpaRepository<Book, Long> {
+
+    // Keyset (seek) pagination on the primary key, so every page is an index range scan regardless of depth
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Query("SELECT MAX(b.id) FROM Book b")
+    Long findMaxId();
+
+    @Query("SELECT new org.example.librarymanagementsystem.dto.BookAvailability(b.id, b.isAvailable) FROM Book b WHERE b.id > ?1 ORDER BY b.id ASC")
+    List<BookAvailability> findAvailabilityAfter(Long afterId, Limit limit);
+
+    @Query("SELECT new org.example.librarymanagementsystem.dto.BookFacetRow(b.id, b.Genre, b.Publisher, b.publicationYear, b.isAvailable) FROM Book b WHERE b.id > ?1 ORDER BY b.id ASC")
+    List<BookFacetRow> findFacetRowsAfter(Long afterId, Limit limit);
+
+    // Conditional availability transitions: only one of several concurrent callers can see 1 row updated, without a row lock being held
+    @Modifying
+    @Query("UPDATE Book b SET b.isAvailable = false, b.version = COALESCE(b.version, 0) + 1, b.updatedAt = INSTANT WHERE b.id = ?1 AND b.isAvailable = true")
+    int claimAvailable(Long id);
+
+    @Modifying
+    @Query("UPDATE Book b SET b.isAvailable = true, b.version = COALESCE(b.version, 0) + 1, b.updatedAt = INSTANT WHERE b.id = ?1 AND b.isAvailable = false")
+    int releaseAvailable(Long id);
+
+    @Modifying
+    @Query("UPDATE Book b SET b.isAvailable = true, b.version = COALESCE(b.version, 0) + 1, b.updatedAt = INSTANT WHERE b.id IN ?1 AND b.isAvailable = false")
+    int releaseAllAvailable(Collection<Long> ids);
+
+    // Row lock that orders placing a hold against returning the same book, see HoldServiceImpl
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Book b WHERE b.id = ?1")
+    Optional<Book> lockById(Long id);
 }
@@ -1,13 +1,64 @@
 package org.example.librarymanagementsystem.repositories;
 
+import org.example.librarymanagementsystem.dto.BorrowingHistoryEntry;
+import org.example.librarymanagementsystem.dto.OverdueLoan;
 import org.example.librarymanagementsystem.entities.Borrowing;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface BorrowingRepository extends JpaRepository<Borrowing, Long> {
 
-    @Query("SELECT b FROM Borrowing b WHERE b.book.id = ?1 AND b.patron.id = ?2")
-    Optional<Borrowing> findByBookIdAndPatronId(Long bookId, Long patronId);
+    // A book has at most one open loan (checkouts claim it with a conditional update), so this returns one row
+    // even when the pair has borrowed the book many times before; served by idx_borrowings_active_loan
+    @Query("SELECT b FROM Borrowing b WHERE b.book.id = ?1 AND b.patron.id = ?2 AND b.returned = false")
+    Optional<Borrowing> findOpenByBookIdAndPatronId(Long bookId, Long patronId);
+
+    @Query("SELECT COUNT(b) > 0 FROM Borrowing b WHERE b.book.id = ?1 AND b.patron.id = ?2")
+    boolean existsByBookIdAndPatronId(Long bookId, Long patronId);
+
+    @Query("SELECT b FROM Borrowing b WHERE b.book.id IN ?1 AND b.returned = false")
+    List<Borrowing> findOpenByBookIds(Collection<Long> bookIds);
+
+    // A patron's loans older than the (borrowingDate, id) position given, newest first; a range read of idx_borrowings_patron_history
+    @Query("SELECT new org.example.librarymanagementsystem.dto.BorrowingHistoryEntry(b.id, bk.id, bk.title, p.id, p.name, b.borrowingDate, b.returnDate, b.returned, b.fine) " +
+            "FROM Borrowing b JOIN b.book bk JOIN b.patron p " +
+            "WHERE p.id = ?1 AND (b.borrowingDate < ?2 OR (b.borrowingDate = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.borrowingDate DESC, b.id DESC")
+    List<BorrowingHistoryEntry> findPatronHistoryBefore(Long patronId, LocalDate beforeDate, Long beforeId, Limit limit);
+
+    // Same for a book's loans, through idx_borrowings_book_history
+    @Query("SELECT new org.example.librarymanagementsystem.dto.BorrowingHistoryEntry(b.id, bk.id, bk.title, p.id, p.name, b.borrowingDate, b.returnDate, b.returned, b.fine) " +
+            "FROM Borrowing b JOIN b.book bk JOIN b.patron p " +
+            "WHERE bk.id = ?1 AND (b.borrowingDate < ?2 OR (b.borrowingDate = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.borrowingDate DESC, b.id DESC")
+    List<BorrowingHistoryEntry> findBookHistoryBefore(Long bookId, LocalDate beforeDate, Long beforeId, Limit limit);
+
+    // Open loans due before dueBefore, strictly after the (returnDate, id) position given; a range read of idx_borrowings_open_due
+    @Query("SELECT new org.example.librarymanagementsystem.dto.OverdueLoan(b.id, b.book.id, b.patron.id, b.returnDate) FROM Borrowing b " +
+            "WHERE b.returned = false AND b.returnDate >= ?1 AND b.returnDate < ?3 AND (b.returnDate > ?1 OR b.id > ?2) " +
+            "ORDER BY b.returnDate ASC, b.id ASC")
+    List<OverdueLoan> findOverdueAfter(LocalDate afterReturnDate, Long afterId, LocalDate dueBefore, Limit limit);
+
+    @Query("SELECT MIN(b.id) FROM Borrowing b WHERE b.returned = false AND b.returnDate < ?1")
+    Long findMinOpenIdDueBefore(LocalDate dueBefore);
+
+    @Query("SELECT MAX(b.id) FROM Borrowing b WHERE b.returned = false AND b.returnDate < ?1")
+    Long findMaxOpenIdDueBefore(LocalDate dueBefore);
+
+    // Sets every open loan in the id window that is past the grace period to (days past it) * rate, capped; re-running it
+    // for the same day writes nothing, and a missed night is caught up by the next run instead of being lost
+    @Modifying
+    @Query("UPDATE Borrowing b SET b.fine = CASE WHEN CAST((?3 - b.returnDate) by day AS BigDecimal) * ?4 > ?5 THEN ?5 ELSE CAST((?3 - b.returnDate) by day AS BigDecimal) * ?4 END, " +
+            "b.version = COALESCE(b.version, 0) + 1 " +
+            "WHERE b.id >= ?1 AND b.id < ?2 AND b.returned = false AND b.returnDate < ?3 " +
+            "AND (b.fine IS NULL OR b.fine <> CASE WHEN CAST((?3 - b.returnDate) by day AS BigDecimal) * ?4 > ?5 THEN ?5 ELSE CAST((?3 - b.returnDate) by day AS BigDecimal) * ?4 END)")
+    int accrueFines(Long fromId, Long toId, LocalDate chargeableBefore, BigDecimal dailyRate, BigDecimal maxFine);
 }
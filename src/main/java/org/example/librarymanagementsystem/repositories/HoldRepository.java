@@ -0,0 +1,37 @@
+package org.example.librarymanagementsystem.repositories;
+
+import org.example.librarymanagementsystem.dto.HoldEntry;
+import org.example.librarymanagementsystem.entities.Hold;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface HoldRepository extends JpaRepository<Hold, Long> {
+
+    @Query("SELECT COUNT(h) > 0 FROM Hold h WHERE h.book.id = ?1 AND h.patron.id = ?2")
+    boolean existsByBookIdAndPatronId(Long bookId, Long patronId);
+
+    @Query("SELECT new org.example.librarymanagementsystem.dto.HoldEntry(h.id, h.book.id, h.patron.id) FROM Hold h WHERE h.book.id = ?1 ORDER BY h.id ASC")
+    List<HoldEntry> findQueue(Long bookId, Limit limit);
+
+    @Query("SELECT new org.example.librarymanagementsystem.dto.HoldEntry(h.id, h.book.id, h.patron.id) FROM Hold h WHERE h.id > ?1 ORDER BY h.id ASC")
+    List<HoldEntry> findHoldsAfter(Long afterId, Limit limit);
+
+    @Query("SELECT COUNT(h) FROM Hold h WHERE h.book.id = ?1")
+    long countByBookId(Long bookId);
+
+    @Query("SELECT COUNT(h) FROM Hold h WHERE h.book.id = ?1 AND h.id < ?2")
+    long countAhead(Long bookId, Long holdId);
+
+    // Claims the hold: of two instances promoting the same hold, only the one whose delete hit a row goes ahead
+    @Modifying
+    @Query("DELETE FROM Hold h WHERE h.id = ?1")
+    int deleteHold(Long id);
+
+    @Modifying
+    @Query("DELETE FROM Hold h WHERE h.book.id = ?1 AND h.patron.id = ?2")
+    int deleteByBookIdAndPatronId(Long bookId, Long patronId);
+}
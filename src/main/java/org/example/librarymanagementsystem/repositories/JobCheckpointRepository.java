@@ -0,0 +1,7 @@
+package org.example.librarymanagementsystem.repositories;
+
+import org.example.librarymanagementsystem.entities.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
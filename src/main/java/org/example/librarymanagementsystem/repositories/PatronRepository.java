@@ -1,11 +1,22 @@
 package org.example.librarymanagementsystem.repositories;
 
+import org.example.librarymanagementsystem.dto.PatronEmail;
 import org.example.librarymanagementsystem.entities.Patron;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
+
 public interface PatronRepository extends JpaRepository<Patron, Long> {
 
-    @Query("SELECT P FROM Patron P WHERE P.email = ?1") // JPQL query to find a patron by email address in the database
+    // Existence projection answered from the unique email index, without materializing the patron
+    @Query("SELECT COUNT(p) > 0 FROM Patron p WHERE p.email = ?1")
     boolean existsByEmail(String email);
+
+    @Query("SELECT MAX(p.id) FROM Patron p")
+    Long findMaxId();
+
+    @Query("SELECT new org.example.librarymanagementsystem.dto.PatronEmail(p.id, p.email) FROM Patron p WHERE p.id > ?1 ORDER BY p.id ASC")
+    List<PatronEmail> findEmailsAfter(Long afterId, Limit limit);
 }
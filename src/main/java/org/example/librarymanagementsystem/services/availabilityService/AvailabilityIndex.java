@@ -0,0 +1,134 @@
+package org.example.librarymanagementsystem.services.availabilityService;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Lock-free tri-state index of book availability keyed by book ID.
+// Every ID owns two adjacent bits of a long (known, available), so each state transition is a single-word CAS.
+// Words are grouped into lazily allocated segments, so memory follows the ID range actually in use.
+final class AvailabilityIndex {
+
+    private static final int IDS_PER_WORD = Long.SIZE / 2;
+    private static final int WORDS_PER_SEGMENT = 1024;
+    private static final int IDS_PER_SEGMENT = IDS_PER_WORD * WORDS_PER_SEGMENT;
+
+    private static final long KNOWN = 0b01;
+    private static final long AVAILABLE = 0b10;
+    private static final long STATE_MASK = KNOWN | AVAILABLE;
+
+    // IDs above this are never indexed and always report UNKNOWN
+    static final long MAX_ID = Integer.MAX_VALUE;
+
+    private final AtomicReferenceArray<AtomicLongArray> segments =
+            new AtomicReferenceArray<>((int) (MAX_ID / IDS_PER_SEGMENT) + 1);
+
+    AvailabilityStatus status(long id) {
+        if (!inRange(id)) {
+            return AvailabilityStatus.UNKNOWN;
+        }
+
+        AtomicLongArray segment = segments.get(segmentIndex(id));
+
+        if (segment == null) {
+            return AvailabilityStatus.UNKNOWN;
+        }
+
+        long state = (segment.get(wordIndex(id)) >>> shift(id)) & STATE_MASK;
+
+        if ((state & KNOWN) == 0) {
+            return AvailabilityStatus.UNKNOWN;
+        }
+
+        return (state & AVAILABLE) != 0 ? AvailabilityStatus.AVAILABLE : AvailabilityStatus.UNAVAILABLE;
+    }
+
+    // Flips AVAILABLE to UNAVAILABLE; returns false if the book was not known to be available
+    boolean tryClaim(long id) {
+        return compareAndSet(id, KNOWN | AVAILABLE, KNOWN);
+    }
+
+    // Records the state only if nothing is known about the ID yet, so a stale read cannot overwrite a newer transition
+    boolean putIfAbsent(long id, boolean available) {
+        return compareAndSet(id, 0, available ? KNOWN | AVAILABLE : KNOWN);
+    }
+
+    void put(long id, boolean available) {
+        update(id, available ? KNOWN | AVAILABLE : KNOWN);
+    }
+
+    void remove(long id) {
+        update(id, 0);
+    }
+
+    private boolean compareAndSet(long id, long expected, long newState) {
+        if (!inRange(id)) {
+            return false;
+        }
+
+        AtomicLongArray segment = segment(id);
+        int wordIndex = wordIndex(id);
+        int shift = shift(id);
+
+        while (true) {
+            long word = segment.get(wordIndex);
+
+            if (((word >>> shift) & STATE_MASK) != expected) {
+                return false;
+            }
+
+            long updated = (word & ~(STATE_MASK << shift)) | (newState << shift);
+
+            if (segment.compareAndSet(wordIndex, word, updated)) {
+                return true;
+            }
+        }
+    }
+
+    private void update(long id, long newState) {
+        if (!inRange(id)) {
+            return;
+        }
+
+        AtomicLongArray segment = segment(id);
+        int wordIndex = wordIndex(id);
+        int shift = shift(id);
+
+        while (true) {
+            long word = segment.get(wordIndex);
+            long updated = (word & ~(STATE_MASK << shift)) | (newState << shift);
+
+            if (segment.compareAndSet(wordIndex, word, updated)) {
+                return;
+            }
+        }
+    }
+
+    private AtomicLongArray segment(long id) {
+        int index = segmentIndex(id);
+        AtomicLongArray segment = segments.get(index);
+
+        if (segment == null) {
+            // Losing the race is fine, the winner's segment is used
+            segments.compareAndSet(index, null, new AtomicLongArray(WORDS_PER_SEGMENT));
+            segment = segments.get(index);
+        }
+
+        return segment;
+    }
+
+    private static boolean inRange(long id) {
+        return id > 0 && id <= MAX_ID;
+    }
+
+    private static int segmentIndex(long id) {
+        return (int) (id / IDS_PER_SEGMENT);
+    }
+
+    private static int wordIndex(long id) {
+        return (int) ((id % IDS_PER_SEGMENT) / IDS_PER_WORD);
+    }
+
+    private static int shift(long id) {
+        return (int) (id % IDS_PER_WORD) * 2;
+    }
+}
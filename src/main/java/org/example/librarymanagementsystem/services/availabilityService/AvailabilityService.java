@@ -0,0 +1,13 @@
+package org.example.librarymanagementsystem.services.availabilityService;
+
+public interface AvailabilityService {
+
+    AvailabilityStatus getStatus(Long bookId);
+    void prime(Long bookId, boolean available);
+    boolean tryBorrow(Long bookId);
+    void markReturned(Long bookId);
+    void put(Long bookId, boolean available);
+    void remove(Long bookId);
+    void forget(Long bookId);
+    int warmUp();
+}
@@ -0,0 +1,131 @@
+package org.example.librarymanagementsystem.services.availabilityService;
+
+import org.example.librarymanagementsystem.dto.BookAvailability;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.utilities.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityServiceImpl.class);
+    private static final int WARM_UP_BATCH_SIZE = 10_000;
+
+    private final BookRepository bookRepository;
+    private final AvailabilityIndex index = new AvailabilityIndex();
+
+    @Autowired
+    public AvailabilityServiceImpl(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @Override
+    public AvailabilityStatus getStatus(Long bookId) {
+        if (bookId == null) {
+            return AvailabilityStatus.UNKNOWN;
+        }
+
+        return index.status(bookId);
+    }
+
+    @Override
+    public void prime(Long bookId, boolean available) {
+        index.putIfAbsent(bookId, available);
+    }
+
+    @Override
+    public boolean tryBorrow(Long bookId) {
+        if (!index.tryClaim(bookId)) {
+            return false;
+        }
+
+        // The claim is visible immediately so concurrent checkouts are rejected, and handed back if the borrow rolls back
+        runAfterRollback(() -> index.put(bookId, true));
+        return true;
+    }
+
+    @Override
+    public void markReturned(Long bookId) {
+        AfterCommit.run(() -> index.put(bookId, true));
+    }
+
+    @Override
+    public void put(Long bookId, boolean available) {
+        AfterCommit.run(() -> index.put(bookId, available));
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        AfterCommit.run(() -> index.remove(bookId));
+    }
+
+    // Drops the entry once the transaction finishes either way, after any rollback compensation, so the next lookup
+    // goes back to the database. Used when the index disagrees with the database, e.g. another instance borrowed the book.
+    @Override
+    public void forget(Long bookId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index.remove(bookId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                index.remove(bookId);
+            }
+        });
+    }
+
+    @Override
+    public int warmUp() {
+        int warmed = 0;
+
+        try {
+            long afterId = 0;
+            List<BookAvailability> page;
+
+            do {
+                page = bookRepository.findAvailabilityAfter(afterId, Limit.of(WARM_UP_BATCH_SIZE));
+
+                for (BookAvailability book : page) {
+                    // Borrows that raced ahead of the warm-up already hold a newer state, so never overwrite
+                    index.putIfAbsent(book.id(), book.available());
+                    afterId = book.id();
+                }
+
+                warmed += page.size();
+            } while (page.size() == WARM_UP_BATCH_SIZE);
+
+            logger.info("Availability index warmed with {} books", warmed);
+        } catch (DataAccessException e) {
+            // Unknown books fall back to the database, so a partial warm-up only costs latency
+            logger.warn("Availability index warm-up stopped after {} books: {}", warmed, e.getMessage());
+        }
+
+        return warmed;
+    }
+
+    private void runAfterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.librarymanagementsystem.services.availabilityService;
+
+public enum AvailabilityStatus {
+    UNKNOWN, // Not in the index yet, the database is authoritative
+    AVAILABLE,
+    UNAVAILABLE
+}
@@ -0,0 +1,6 @@
+package org.example.librarymanagementsystem.services.bookService;
+
+public enum BookImportFormat {
+    CSV, // Header row with column names, then one book per line
+    NDJSON // One JSON book object per line
+}
@@ -0,0 +1,12 @@
+package org.example.librarymanagementsystem.services.bookService;
+
+import org.example.librarymanagementsystem.dto.BookImportResult;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+public interface BookImportService {
+
+    BookImportResult importBooks(InputStream input, BookImportFormat format, String importId);
+    Optional<BookImportResult> getImportProgress(String importId);
+}
@@ -0,0 +1,215 @@
+package org.example.librarymanagementsystem.services.bookService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.librarymanagementsystem.dto.BookImportResult;
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.services.availabilityService.AvailabilityService;
+import org.example.librarymanagementsystem.services.facetService.FacetService;
+import org.example.librarymanagementsystem.services.missingIdService.MissingIdService;
+import org.example.librarymanagementsystem.services.searchService.SearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class BookImportServiceImpl implements BookImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookImportServiceImpl.class);
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final BookRepository bookRepository;
+    private final AvailabilityService availabilityService;
+    private final SearchService searchService;
+    private final FacetService facetService;
+    private final MissingIdService missingIdService;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    // Running and recently finished imports, kept for a while so clients can poll their progress
+    private final Cache<String, Progress> imports = Caffeine.newBuilder()
+            .maximumSize(100)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    @Autowired
+    public BookImportServiceImpl(BookRepository bookRepository, AvailabilityService availabilityService,
+                                 SearchService searchService, FacetService facetService, MissingIdService missingIdService,
+                                 CatalogVersion catalogVersion, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                 @Value("${library.import.batch-size:1000}") int batchSize) {
+        this.bookRepository = bookRepository;
+        this.availabilityService = availabilityService;
+        this.searchService = searchService;
+        this.facetService = facetService;
+        this.missingIdService = missingIdService;
+        this.catalogVersion = catalogVersion;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    @CacheEvict(value = "bookQueries", allEntries = true)
+    @Override
+    public BookImportResult importBooks(InputStream input, BookImportFormat format, String importId) {
+        if (input == null || format == null) {
+            throw new IllegalArgumentException("Import input and format cannot be null");
+        }
+
+        String id = importId == null || importId.isBlank() ? UUID.randomUUID().toString() : importId;
+
+        Progress progress = new Progress(id);
+
+        // Claimed atomically, so two concurrent requests with the same ID cannot both run the import
+        if (imports.asMap().putIfAbsent(id, progress) != null) {
+            throw new IllegalArgumentException("Import with ID " + id + " already exists");
+        }
+
+        BookLineParser parser = BookLineParser.forFormat(format, objectMapper);
+        List<Book> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            boolean headerRead = !parser.hasHeader();
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                if (!headerRead) {
+                    parser.readHeader(line);
+                    headerRead = true;
+                    continue;
+                }
+
+                progress.processed.incrementAndGet();
+
+                try {
+                    Book book = parser.parse(line);
+                    BookServiceImpl.validateBook(book);
+                    book.setId(null);
+                    book.setAvailable(true);
+                    batch.add(book);
+                } catch (IllegalArgumentException e) {
+                    progress.reject("Line " + lineNumber + ": " + e.getMessage());
+                }
+
+                if (batch.size() >= batchSize) {
+                    flush(batch, progress);
+                }
+            }
+
+            flush(batch, progress);
+            progress.finish(BookImportResult.Status.COMPLETED);
+        } catch (IllegalArgumentException e) {
+            // Only an unusable header gets here; row errors are collected above
+            progress.error(e.getMessage());
+            progress.finish(BookImportResult.Status.FAILED);
+        } catch (IOException | RuntimeException e) {
+            // Batches committed so far stay in place, the result says how far the import got
+            logger.error("Import {} failed after {} books: {}", id, progress.imported.get(), e.getMessage());
+            progress.error("Import aborted: " + e.getMessage());
+            progress.finish(BookImportResult.Status.FAILED);
+        }
+
+        return progress.snapshot();
+    }
+
+    @Override
+    public Optional<BookImportResult> getImportProgress(String importId) {
+        if (importId == null) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(imports.getIfPresent(importId)).map(Progress::snapshot);
+    }
+
+    // Each batch is its own transaction and persistence context, so memory stays flat however large the file is
+    private void flush(List<Book> batch, Progress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Book book : bookRepository.saveAll(batch)) {
+                missingIdService.markBookPresent(book.getId());
+                availabilityService.put(book.getId(), true);
+                searchService.index(book);
+                facetService.index(book);
+            }
+
+            catalogVersion.changed();
+        });
+
+        long imported = progress.imported.addAndGet(batch.size());
+        logger.info("Import {}: {} books imported, {} rejected", progress.importId, imported, progress.rejected.get());
+        batch.clear();
+    }
+
+    private static class Progress {
+
+        private final String importId;
+        private final long startedAt = System.nanoTime();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final List<String> errors = new ArrayList<>();
+        private volatile BookImportResult.Status status = BookImportResult.Status.RUNNING;
+        private volatile long elapsedNanos = -1;
+
+        Progress(String importId) {
+            this.importId = importId;
+        }
+
+        void reject(String error) {
+            rejected.incrementAndGet();
+            error(error);
+        }
+
+        void error(String error) {
+            synchronized (errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(error);
+                }
+            }
+        }
+
+        void finish(BookImportResult.Status finalStatus) {
+            elapsedNanos = System.nanoTime() - startedAt;
+            status = finalStatus;
+        }
+
+        BookImportResult snapshot() {
+            long elapsed = elapsedNanos >= 0 ? elapsedNanos : System.nanoTime() - startedAt;
+
+            synchronized (errors) {
+                return new BookImportResult(importId, status, processed.get(), imported.get(), rejected.get(),
+                        List.copyOf(errors), Duration.ofNanos(elapsed).toMillis());
+            }
+        }
+    }
+}
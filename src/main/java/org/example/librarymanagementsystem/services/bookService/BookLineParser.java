@@ -0,0 +1,151 @@
+package org.example.librarymanagementsystem.services.bookService;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.librarymanagementsystem.entities.Book;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Turns one line of an import file into a Book; throws IllegalArgumentException for a line that cannot be parsed
+abstract class BookLineParser {
+
+    abstract Book parse(String line);
+
+    // Whether the first non-blank line is a header rather than a book
+    boolean hasHeader() {
+        return false;
+    }
+
+    void readHeader(String line) {
+    }
+
+    static BookLineParser forFormat(BookImportFormat format, ObjectMapper objectMapper) {
+        return format == BookImportFormat.CSV ? new Csv() : new NdJson(objectMapper);
+    }
+
+    static class NdJson extends BookLineParser {
+
+        private final ObjectMapper objectMapper;
+
+        NdJson(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Book parse(String line) {
+            try {
+                return objectMapper.readValue(line, Book.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    // Minimal RFC 4180 reader: quoted fields and doubled quotes are supported, line breaks inside quotes are not
+    static class Csv extends BookLineParser {
+
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        @Override
+        boolean hasHeader() {
+            return true;
+        }
+
+        @Override
+        void readHeader(String line) {
+            List<String> names = split(line);
+
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(normalize(names.get(i)), i);
+            }
+
+            if (!columns.containsKey("title")) {
+                throw new IllegalArgumentException("CSV header must contain a title column");
+            }
+        }
+
+        @Override
+        Book parse(String line) {
+            List<String> fields = split(line);
+
+            Book book = new Book();
+            book.setTitle(field(fields, "title"));
+            book.setAuthor(field(fields, "author"));
+            book.setIsbn(field(fields, "isbn"));
+            book.setGenre(field(fields, "genre"));
+            book.setPublisher(field(fields, "publisher"));
+            book.setPublicationYear(intField(fields, "publicationyear"));
+            book.setPages(intField(fields, "pages"));
+            return book;
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private int intField(List<String> fields, String column) {
+            String value = field(fields, column);
+
+            if (value == null) {
+                return 0; // Rejected by validateBook with its usual message
+            }
+
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Column " + column + " is not a number: " + value);
+            }
+        }
+
+        // Header names are matched case-insensitively and without separators, so publication_year == publicationYear
+        private static String normalize(String name) {
+            return name.trim().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "");
+        }
+
+        static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+
+            fields.add(current.toString());
+            return fields;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import java.util.List;
 public interface BookService {
 
     List<Book> getAllBooks();
+    List<Book> getBooksPage(Long afterId, int size);
     Optional<Book> getBookById(Long id);
     Book addBook(Book id);
     Book updateBook(Long id, Book book);
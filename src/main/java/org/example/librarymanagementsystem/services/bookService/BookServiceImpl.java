@@ -1,171 +1,202 @@
 package org.example.librarymanagementsystem.services.bookService;
 
 import jakarta.transaction.Transactional;
+import org.example.librarymanagementsystem.aop.RetryOnConflict;
 import org.example.librarymanagementsystem.exceptions.bookExceptions.BookNotFoundException;
 import org.example.librarymanagementsystem.entities.Book;
 import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.services.availabilityService.AvailabilityService;
+import org.example.librarymanagementsystem.services.facetService.FacetService;
+import org.example.librarymanagementsystem.services.missingIdService.MissingIdService;
+import org.example.librarymanagementsystem.services.searchService.SearchService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.dao.DataAccessException;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.Year;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class BookServiceImpl implements BookService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final BookRepository bookRepository;
+    private final AvailabilityService availabilityService;
+    private final SearchService searchService;
+    private final FacetService facetService;
+    private final MissingIdService missingIdService;
+    private final CatalogVersion catalogVersion;
 
     @Autowired
-    public BookServiceImpl(BookRepository bookRepository) {
+    public BookServiceImpl(BookRepository bookRepository, AvailabilityService availabilityService, SearchService searchService,
+                           FacetService facetService, MissingIdService missingIdService, CatalogVersion catalogVersion) {
         this.bookRepository = bookRepository;
+        this.availabilityService = availabilityService;
+        this.searchService = searchService;
+        this.facetService = facetService;
+        this.missingIdService = missingIdService;
+        this.catalogVersion = catalogVersion;
     }
 
-    @Cacheable(value = "books") // Caching the result of this method
+    @Cacheable(value = "bookQueries", key = "'all'") // Lists live in their own cache so large payloads cannot evict hot single-book entries
     @Override
     public List<Book> getAllBooks() {
-        try {
-            List<Book> books = bookRepository.findAll();
+        List<Book> books = bookRepository.findAll();
+
+        if (books.isEmpty()) {
+            throw new BookNotFoundException("No books found");
+        }
+
+        return books;
+    }
 
-            if (books.isEmpty()) {
-                throw new BookNotFoundException("No books found");
-            }
+    // Only UI-sized pages are cached; bulk scans such as the streamed catalog would just churn the query cache
+    @Cacheable(value = "bookQueries", key = "'page:' + (#afterId == null ? 0 : #afterId) + ':' + #size", condition = "#size <= 100")
+    @Override
+    public List<Book> getBooksPage(Long afterId, int size) {
+        if (afterId == null) {
+            afterId = 0L;
+        }
+
+        if (afterId < 0) {
+            throw new IllegalArgumentException("Cursor cannot be less than 0");
+        }
 
-            return books;
-        } catch (BookNotFoundException e) {
-            throw new BookNotFoundException(e.getMessage());
-        } catch (DataAccessException e) {
-            throw new RuntimeException("An error occurred while fetching the books", e);
-        } catch (Exception e) {
-            throw new RuntimeException("An unexpected error occurred", e);
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
         }
+
+        // Seek past the last ID the client has seen instead of using OFFSET, so deep pages cost the same as the first one
+        return bookRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size));
     }
 
     @Cacheable(value = "books", key = "#id") // Caching the result of this method with the key as the book ID
     @Override
     public Optional<Book> getBookById(Long id) {
-        try {
-            if (id == null || id <= 0) {
-                throw new IllegalArgumentException("Book ID cannot be null or less than or equal to 0");
-            }
-
-            Optional<Book> book = bookRepository.findById(id);
-
-            if (book.isPresent()) {
-                return book;
-            } else {
-                throw new BookNotFoundException("Book with ID " + id + " not found");
-            }
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException(e.getMessage());
-        } catch (BookNotFoundException e) {
-            throw new BookNotFoundException(e.getMessage());
-        } catch (DataAccessException e) {
-            throw new RuntimeException("An error occurred while fetching the book", e);
-        } catch (Exception e) {
-            throw new RuntimeException("An unexpected error occurred", e);
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException("Book ID cannot be null or less than or equal to 0");
+        }
+
+        // Floods of unknown IDs are answered from tombstones and the max-ID bound instead of reaching the database
+        if (missingIdService.isBookMissing(id)) {
+            throw new BookNotFoundException("Book with ID " + id + " not found");
+        }
+
+        Optional<Book> book = bookRepository.findById(id);
+
+        if (book.isPresent()) {
+            return book;
+        } else {
+            missingIdService.markBookMissing(id);
+            throw new BookNotFoundException("Book with ID " + id + " not found");
         }
     }
 
+    @Caching(
+            put = @CachePut(value = "books", key = "#result.id"), // Write the new book through to the cache
+            evict = @CacheEvict(value = "bookQueries", allEntries = true) // Cached lists and pages no longer reflect the catalog
+    )
     @Transactional
     @Override
     public Book addBook(Book book) {
-        try {
+        // Validate the book
+        validateBook(book);
 
-            // Validate the book
-            validateBook(book);
+        if (book.getId() != null) {
+            book.setId(null);
+        }
 
-            if (book.getId() != null) {
-                book.setId(null);
-            }
+        book.setAvailable(true);
 
-            book.setAvailable(true);
+        // Save the book
+        Book savedBook = bookRepository.save(book);
 
-            // Save the book
-            return bookRepository.save(book);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException(e.getMessage());
-        } catch (DataAccessException e) {
-            throw new RuntimeException("An error occurred while adding the book", e);
-        } catch (Exception e) {
-            throw new RuntimeException("An unexpected error occurred", e);
-        }
+        missingIdService.markBookPresent(savedBook.getId());
+        availabilityService.put(savedBook.getId(), true);
+        searchService.index(savedBook);
+        facetService.index(savedBook);
+        catalogVersion.changed();
+
+        return savedBook;
     }
 
+    @Caching(
+            put = @CachePut(value = "books", key = "#id"),
+            evict = @CacheEvict(value = "bookQueries", allEntries = true)
+    )
+    @RetryOnConflict // A concurrent borrow or return bumps the version of the row being edited
     @Transactional
     @Override
     public Book updateBook(Long id, Book book) {
-        try {
-
-            // Validate the book ID
-            if (id == null || id <= 0) {
-                throw new IllegalArgumentException("Book ID cannot be null or less than or equal to 0");
-            }
-
-            // Validate the book
-            validateBook(book);
-
-            // Fetch the book
-            Optional<Book> existingBook = bookRepository.findById(id);
-
-            if (existingBook.isPresent()) {
-                // Update the book
-                existingBook.get().setTitle(book.getTitle());
-                existingBook.get().setAuthor(book.getAuthor());
-                existingBook.get().setPublicationYear(book.getPublicationYear());
-                existingBook.get().setIsbn(book.getIsbn());
-                existingBook.get().setGenre(book.getGenre());
-                existingBook.get().setPublisher(book.getPublisher());
-                existingBook.get().setPages(book.getPages());
-                existingBook.get().setAvailable(book.isAvailable());
-
-                // Save the book
-                return bookRepository.save(existingBook.get());
-            } else {
-                throw new BookNotFoundException("Book with ID " + id + " not found");
-            }
-
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException(e.getMessage());
-        } catch (BookNotFoundException e) {
-            throw new BookNotFoundException(e.getMessage());
-        } catch (DataAccessException e) {
-            throw new RuntimeException("An error occurred while updating the book", e);
-        } catch (Exception e) {
-            throw new RuntimeException("An unexpected error occurred", e);
+        // Validate the book ID
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException("Book ID cannot be null or less than or equal to 0");
+        }
+
+        // Validate the book
+        validateBook(book);
+
+        // Fetch the book
+        Optional<Book> existingBook = bookRepository.findById(id);
+
+        if (existingBook.isPresent()) {
+            // Update the book
+            existingBook.get().setTitle(book.getTitle());
+            existingBook.get().setAuthor(book.getAuthor());
+            existingBook.get().setPublicationYear(book.getPublicationYear());
+            existingBook.get().setIsbn(book.getIsbn());
+            existingBook.get().setGenre(book.getGenre());
+            existingBook.get().setPublisher(book.getPublisher());
+            existingBook.get().setPages(book.getPages());
+            existingBook.get().setAvailable(book.isAvailable());
+
+            // Save the book
+            Book savedBook = bookRepository.save(existingBook.get());
+
+            availabilityService.put(id, savedBook.isAvailable());
+            searchService.index(savedBook);
+            facetService.index(savedBook);
+            catalogVersion.changed();
+
+            return savedBook;
+        } else {
+            throw new BookNotFoundException("Book with ID " + id + " not found");
         }
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = "books", key = "#id"),
+            @CacheEvict(value = "bookQueries", allEntries = true)
+    })
     @Transactional
     @Override
     public boolean deleteBook(Long id) {
-        try {
-
-            if (id == null || id <= 0) {
-                throw new IllegalArgumentException("Book ID cannot be null or less than or equal to 0");
-            }
-
-            Optional<Book> book = bookRepository.findById(id);
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException("Book ID cannot be null or less than or equal to 0");
+        }
 
-            if (book.isEmpty()) {
-                throw new BookNotFoundException("Book with ID " + id + " not found");
-            }
+        Optional<Book> book = bookRepository.findById(id);
 
-            bookRepository.deleteById(id);
-            return true;
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException(e.getMessage());
-        } catch (BookNotFoundException e) {
-            throw new BookNotFoundException(e.getMessage());
-        } catch (DataAccessException e) {
-            throw new RuntimeException("An error occurred while deleting the book", e);
-        } catch (Exception e) {
-            throw new RuntimeException("An unexpected error occurred", e);
+        if (book.isEmpty()) {
+            throw new BookNotFoundException("Book with ID " + id + " not found");
         }
+
+        bookRepository.deleteById(id);
+        availabilityService.remove(id);
+        searchService.remove(id);
+        facetService.remove(id);
+        catalogVersion.changed();
+        return true;
     }
 
-    private void validateBook(Book book) {
+    // Package-private so the bulk import applies exactly the same rules
+    static void validateBook(Book book) {
         if (book == null) {
             throw new IllegalArgumentException("Book cannot be null");
         }
@@ -178,6 +209,11 @@ public class BookServiceImpl implements BookService {
             throw new IllegalArgumentException("Book publication year cannot be less than or equal to 0");
         }
 
+        // Announced books may carry next year's date, anything later is a typo
+        if (book.getPublicationYear() > Year.now().getValue() + 1) {
+            throw new IllegalArgumentException("Book publication year cannot be later than next year");
+        }
+
         if (book.getPages() <= 0) {
             throw new IllegalArgumentException("Book pages cannot be less than or equal to 0");
         }
@@ -0,0 +1,35 @@
+package org.example.librarymanagementsystem.services.bookService;
+
+import org.example.librarymanagementsystem.utilities.AfterCommit;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Change counter for the whole catalog. GET /api/books derives its ETag from it, so an unchanged catalog is answered
+// with 304 Not Modified before a single row is read
+@Component
+public class CatalogVersion {
+
+    // The counter restarts with the process; the epoch keeps ETags handed out before a restart from matching again
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(new Snapshot(0, Instant.now().truncatedTo(ChronoUnit.SECONDS)));
+
+    public Snapshot current() {
+        return current.get();
+    }
+
+    public String etag(Snapshot snapshot) {
+        return "\"catalog-" + epoch + "-" + snapshot.counter() + "\"";
+    }
+
+    // Bumped once the change is committed, so a reader can never pair the new ETag with the old rows
+    public void changed() {
+        AfterCommit.run(() -> current.updateAndGet(snapshot ->
+                new Snapshot(snapshot.counter() + 1, Instant.now().truncatedTo(ChronoUnit.SECONDS))));
+    }
+
+    public record Snapshot(long counter, Instant lastModified) {
+    }
+}
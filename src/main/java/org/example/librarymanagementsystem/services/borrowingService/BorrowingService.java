@@ -1,12 +1,24 @@
 package org.example.librarymanagementsystem.services.borrowingService;
 
+import org.example.librarymanagementsystem.dto.BorrowingHistoryEntry;
+import org.example.librarymanagementsystem.dto.BorrowingRequest;
+import org.example.librarymanagementsystem.dto.BorrowingResult;
 import org.example.librarymanagementsystem.entities.Borrowing;
 
 import java.time.LocalDate;
+import java.util.List;
 
 public interface BorrowingService {
 
     Borrowing borrowBook(Long bookId, Long patronId, LocalDate returnDate);
 
     boolean returnBook(Long bookId, Long patronId);
+
+    List<BorrowingResult> borrowBooks(List<BorrowingRequest> requests, LocalDate returnDate);
+
+    List<BorrowingResult> returnBooks(List<BorrowingRequest> requests);
+
+    List<BorrowingHistoryEntry> getPatronHistory(Long patronId, String before, int size);
+
+    List<BorrowingHistoryEntry> getBookHistory(Long bookId, String before, int size);
 }
@@ -1,6 +1,11 @@
 package org.example.librarymanagementsystem.services.borrowingService;
 
 import jakarta.transaction.Transactional;
+import org.example.librarymanagementsystem.aop.RetryOnConflict;
+import org.example.librarymanagementsystem.dto.BorrowingHistoryEntry;
+import org.example.librarymanagementsystem.dto.BorrowingRequest;
+import org.example.librarymanagementsystem.dto.BorrowingResult;
+import org.example.librarymanagementsystem.dto.HoldEntry;
 import org.example.librarymanagementsystem.exceptions.Patron.PatronNotFoundException;
 import org.example.librarymanagementsystem.exceptions.bookExceptions.BookNotFoundException;
 import org.example.librarymanagementsystem.exceptions.bookExceptions.NotAvailableBookException;
@@ -8,125 +13,423 @@ import org.example.librarymanagementsystem.entities.Book;
 import org.example.librarymanagementsystem.entities.Borrowing;
 import org.example.librarymanagementsystem.entities.Patron;
 import org.example.librarymanagementsystem.exceptions.borrowingsExceptions.AlreadyReturnedBookException;
+import org.example.librarymanagementsystem.exceptions.borrowingsExceptions.BorrowingNotFoundException;
+import org.example.librarymanagementsystem.repositories.BookRepository;
 import org.example.librarymanagementsystem.repositories.BorrowingRepository;
+import org.example.librarymanagementsystem.repositories.PatronRepository;
+import org.example.librarymanagementsystem.services.availabilityService.AvailabilityService;
+import org.example.librarymanagementsystem.services.availabilityService.AvailabilityStatus;
+import org.example.librarymanagementsystem.services.facetService.FacetService;
+import org.example.librarymanagementsystem.services.fineService.FineService;
+import org.example.librarymanagementsystem.services.holdService.HoldService;
 import org.example.librarymanagementsystem.services.bookService.BookService;
+import org.example.librarymanagementsystem.services.bookService.CatalogVersion;
 import org.example.librarymanagementsystem.services.patronService.PatronService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.DataAccessException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.Optional;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class BorrowingServiceImpl implements BorrowingService {
 
+    public static final int MAX_BATCH_SIZE = 500;
+    public static final int LOAN_DAYS = 14;
+    public static final int MAX_HISTORY_PAGE_SIZE = 1000;
+
+    // Sorts after every real loan, so a history without a cursor starts from the newest one
+    private static final LocalDate HISTORY_START_DATE = LocalDate.of(9999, 12, 31);
+
     private final BorrowingRepository borrowingRepository;
+    private final BookRepository bookRepository;
     private final BookService bookService;
+    private final PatronRepository patronRepository;
     private final PatronService patronService;
+    private final AvailabilityService availabilityService;
+    private final FacetService facetService;
+    private final FineService fineService;
+    private final HoldService holdService;
+    private final CatalogVersion catalogVersion;
 
     @Autowired
-    public BorrowingServiceImpl(BorrowingRepository borrowingRepository, BookService bookService, PatronService patronService) {
+    public BorrowingServiceImpl(BorrowingRepository borrowingRepository, BookRepository bookRepository, BookService bookService,
+                                PatronRepository patronRepository, PatronService patronService, AvailabilityService availabilityService,
+                                FacetService facetService, FineService fineService, HoldService holdService,
+                                CatalogVersion catalogVersion) {
         this.borrowingRepository = borrowingRepository;
+        this.bookRepository = bookRepository;
         this.bookService = bookService;
+        this.patronRepository = patronRepository;
         this.patronService = patronService;
+        this.availabilityService = availabilityService;
+        this.facetService = facetService;
+        this.fineService = fineService;
+        this.holdService = holdService;
+        this.catalogVersion = catalogVersion;
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = "books", key = "#bookId"), // The book's availability changes with every borrow and return
+            @CacheEvict(value = "bookQueries", allEntries = true)
+    })
+    @RetryOnConflict
     @Transactional
     @Override
     public Borrowing borrowBook(Long bookId, Long patronId, LocalDate returnDate) {
-        try {
-            if (bookId == null || bookId <= 0) {
-                throw new IllegalArgumentException("Book ID cannot be null or less than or equal to 0");
-            }
+        if (bookId == null || bookId <= 0) {
+            throw new IllegalArgumentException("Book ID cannot be null or less than or equal to 0");
+        }
 
-            if (patronId == null || patronId <= 0) {
-                throw new IllegalArgumentException("Patron ID cannot be null or less than or equal to 0");
-            }
+        if (patronId == null || patronId <= 0) {
+            throw new IllegalArgumentException("Patron ID cannot be null or less than or equal to 0");
+        }
 
-            Optional<Book> book = bookService.getBookById(bookId);
+        // Reject books the index already knows are out before touching the cache or the database
+        AvailabilityStatus status = availabilityService.getStatus(bookId);
 
-            if (book.isEmpty()) {
-                throw new BookNotFoundException("Book with ID " + bookId + " not found");
-            }
+        if (status == AvailabilityStatus.UNAVAILABLE) {
+            throw new NotAvailableBookException("Book with ID " + bookId + " is not available");
+        }
 
-            if (book.get().isAvailable()) {
-                throw new NotAvailableBookException("Book with ID " + bookId + " is not available");
-            }
+        Optional<Book> book = bookService.getBookById(bookId);
 
-            Optional<Patron> patron = patronService.getPatronById(patronId);
+        if (book.isEmpty()) {
+            throw new BookNotFoundException("Book with ID " + bookId + " not found");
+        }
 
-            if (patron.isEmpty()) {
-                throw new PatronNotFoundException("Patron with ID " + patronId + " not found");
-            }
+        if (status == AvailabilityStatus.UNKNOWN) {
+            availabilityService.prime(bookId, book.get().isAvailable());
+        }
 
-            if (returnDate == null) {
-                throw new IllegalArgumentException("Return date cannot be null");
-            }
+        Optional<Patron> patron = patronService.getPatronById(patronId);
+
+        if (patron.isEmpty()) {
+            throw new PatronNotFoundException("Patron with ID " + patronId + " not found");
+        }
+
+        validateReturnDate(returnDate);
+
+        // Atomically claim the copy; a concurrent checkout that got there first makes this fail
+        if (!availabilityService.tryBorrow(bookId)) {
+            throw new NotAvailableBookException("Book with ID " + bookId + " is not available");
+        }
+
+        // The conditional update is the source of truth across instances; the index only filters the obvious cases
+        if (bookRepository.claimAvailable(bookId) == 0) {
+            availabilityService.forget(bookId);
+            throw new NotAvailableBookException("Book with ID " + bookId + " is not available");
+        }
+
+        facetService.setAvailable(bookId, false);
+
+        catalogVersion.changed();
+
+        Borrowing borrowing = new Borrowing();
+        borrowing.setBook(book.get());
+        borrowing.setPatron(patron.get());
+        borrowing.setBorrowingDate(java.time.LocalDate.now());
+        borrowing.setReturnDate(returnDate);
+        borrowing.setReturned(false);
+
+        return borrowingRepository.save(borrowing);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(value = "books", key = "#bookId"),
+            @CacheEvict(value = "bookQueries", allEntries = true)
+    })
+    @RetryOnConflict
+    @Transactional
+    @Override
+    public boolean returnBook(Long bookId, Long patronId) {
+        if (bookId == null || bookId <= 0) {
+            throw new IllegalArgumentException("Book ID cannot be null or less than or equal to 0");
+        }
 
-            if (returnDate.isBefore(java.time.LocalDate.now())) {
-                throw new IllegalArgumentException("Return date cannot be before today");
+        if (patronId == null || patronId <= 0) {
+            throw new IllegalArgumentException("Patron ID cannot be null or less than or equal to 0");
+        }
+
+        // Only the open loan is looked up, through the active loan index, however long the pair's history is
+        Optional<Borrowing> borrowing = borrowingRepository.findOpenByBookIdAndPatronId(bookId, patronId);
+
+        if (borrowing.isEmpty()) {
+            // Only the failure path pays for telling "already returned" apart from "never borrowed"
+            if (borrowingRepository.existsByBookIdAndPatronId(bookId, patronId)) {
+                throw new AlreadyReturnedBookException("Book with ID " + bookId + " has already been returned by patron with ID " + patronId);
             }
 
-            if (returnDate.isAfter(java.time.LocalDate.now().plusDays(14))) {
-                throw new IllegalArgumentException("Return date cannot be more than 14 days from today");
+            throw new BorrowingNotFoundException("No borrowing found for book with ID " + bookId + " and patron with ID " + patronId);
+        }
+
+        borrowing.get().setReturned(true);
+        // Settles the fine at the return date; the nightly accrual only ever touches open loans
+        borrowing.get().setFine(fineService.fineOnReturn(borrowing.get().getReturnDate()));
+        borrowingRepository.save(borrowing.get());
+
+        // With a hold waiting, the copy goes straight to the next holder in the same transaction and never
+        // shows as available, so patrons polling for it are not racing each other
+        Optional<HoldEntry> nextHold = holdService.claimNext(bookId);
+
+        if (nextHold.isPresent()) {
+            borrowingRepository.save(loanToHolder(borrowing.get().getBook(), nextHold.get()));
+            return true;
+        }
+
+        bookRepository.releaseAvailable(bookId);
+        availabilityService.markReturned(bookId);
+        facetService.setAvailable(bookId, true);
+        catalogVersion.changed();
+
+        return true;
+    }
+
+    @Caching(evict = {
+            @CacheEvict(value = "books", allEntries = true), // A batch touches many books, clearing is cheaper than tracking keys
+            @CacheEvict(value = "bookQueries", allEntries = true)
+    })
+    @RetryOnConflict
+    @Transactional
+    @Override
+    public List<BorrowingResult> borrowBooks(List<BorrowingRequest> requests, LocalDate returnDate) {
+        validateBatch(requests);
+        validateReturnDate(returnDate);
+
+        // Validate the whole batch with one query per table instead of one lookup per item
+        Map<Long, Book> books = bookRepository.findAllById(idsOf(requests, BorrowingRequest::bookId)).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        Map<Long, Patron> patrons = patronRepository.findAllById(idsOf(requests, BorrowingRequest::patronId)).stream()
+                .collect(Collectors.toMap(Patron::getId, Function.identity()));
+
+        BorrowingResult[] results = new BorrowingResult[requests.size()];
+        List<Borrowing> borrowings = new ArrayList<>();
+        List<Integer> borrowingPositions = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            BorrowingRequest request = requests.get(i);
+            Book book = books.get(request.bookId());
+            Patron patron = patrons.get(request.patronId());
+
+            if (request.bookId() == null || request.bookId() <= 0 || request.patronId() == null || request.patronId() <= 0) {
+                results[i] = BorrowingResult.failure(request, BorrowingResult.Status.INVALID, "Book ID and patron ID must be greater than 0");
+            } else if (book == null) {
+                results[i] = BorrowingResult.failure(request, BorrowingResult.Status.BOOK_NOT_FOUND, "Book with ID " + request.bookId() + " not found");
+            } else if (patron == null) {
+                results[i] = BorrowingResult.failure(request, BorrowingResult.Status.PATRON_NOT_FOUND, "Patron with ID " + request.patronId() + " not found");
+            } else if (!claim(book)) {
+                results[i] = BorrowingResult.failure(request, BorrowingResult.Status.NOT_AVAILABLE, "Book with ID " + request.bookId() + " is not available");
+            } else {
+                Borrowing borrowing = new Borrowing();
+                borrowing.setBook(book);
+                borrowing.setPatron(patron);
+                borrowing.setBorrowingDate(LocalDate.now());
+                borrowing.setReturnDate(returnDate);
+                borrowing.setReturned(false);
+                borrowings.add(borrowing);
+                borrowingPositions.add(i);
             }
+        }
 
-            Borrowing borrowing = new Borrowing();
-            borrowing.setBook(book.get());
-            borrowing.setPatron(patron.get());
-            borrowing.setBorrowingDate(java.time.LocalDate.now());
-            borrowing.setReturnDate(returnDate);
-            borrowing.setReturned(false);
-
-            return borrowingRepository.save(borrowing);
-
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException(e.getMessage());
-        } catch (BookNotFoundException e) {
-            throw new BookNotFoundException(e.getMessage());
-        } catch (NotAvailableBookException e) {
-            throw new NotAvailableBookException(e.getMessage());
-        } catch (PatronNotFoundException e) {
-            throw new PatronNotFoundException(e.getMessage());
-        } catch (DataAccessException e) {
-            throw new RuntimeException("An error occurred while borrowing the book", e);
-        } catch (Exception e) {
-            throw new RuntimeException("An unexpected error occurred", e);
+        // Sequence-generated IDs let Hibernate send these inserts as JDBC batches
+        List<Borrowing> saved = borrowingRepository.saveAll(borrowings);
+
+        for (int i = 0; i < saved.size(); i++) {
+            int position = borrowingPositions.get(i);
+            results[position] = BorrowingResult.success(requests.get(position), BorrowingResult.Status.BORROWED, saved.get(i).getId());
         }
+
+        return Arrays.asList(results);
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = "books", allEntries = true),
+            @CacheEvict(value = "bookQueries", allEntries = true)
+    })
+    @RetryOnConflict
     @Transactional
     @Override
-    public boolean returnBook(Long bookId, Long patronId) {
-        try {
-            if (bookId == null || bookId <= 0) {
-                throw new IllegalArgumentException("Book ID cannot be null or less than or equal to 0");
+    public List<BorrowingResult> returnBooks(List<BorrowingRequest> requests) {
+        validateBatch(requests);
+
+        // Load every open loan of the batch's books in one query and match the pairs in memory
+        Map<BorrowingRequest, Borrowing> openBorrowings = new HashMap<>();
+
+        for (Borrowing borrowing : borrowingRepository.findOpenByBookIds(idsOf(requests, BorrowingRequest::bookId))) {
+            openBorrowings.put(new BorrowingRequest(borrowing.getBook().getId(), borrowing.getPatron().getId()), borrowing);
+        }
+
+        List<BorrowingResult> results = new ArrayList<>(requests.size());
+        Set<Long> returnedBookIds = new HashSet<>();
+        List<Borrowing> holderLoans = new ArrayList<>();
+
+        for (BorrowingRequest request : requests) {
+            Borrowing borrowing = openBorrowings.remove(request);
+
+            if (borrowing == null) {
+                results.add(BorrowingResult.failure(request, BorrowingResult.Status.NOT_BORROWED,
+                        "No open borrowing found for book with ID " + request.bookId() + " and patron with ID " + request.patronId()));
+                continue;
             }
 
-            if (patronId == null || patronId <= 0) {
-                throw new IllegalArgumentException("Patron ID cannot be null or less than or equal to 0");
+            // Managed entities are flushed together, as batched versioned updates
+            borrowing.setReturned(true);
+            borrowing.setFine(fineService.fineOnReturn(borrowing.getReturnDate()));
+
+            Optional<HoldEntry> nextHold = holdService.claimNext(request.bookId());
+
+            if (nextHold.isPresent()) {
+                holderLoans.add(loanToHolder(borrowing.getBook(), nextHold.get()));
+            } else {
+                returnedBookIds.add(request.bookId());
+                availabilityService.markReturned(request.bookId());
+                facetService.setAvailable(request.bookId(), true);
+                catalogVersion.changed();
             }
 
-            Optional<Borrowing> borrowing = borrowingRepository.findByBookIdAndPatronId(bookId, patronId);
+            results.add(BorrowingResult.success(request, BorrowingResult.Status.RETURNED, borrowing.getId()));
+        }
+
+        if (!returnedBookIds.isEmpty()) {
+            bookRepository.releaseAllAvailable(returnedBookIds);
+        }
+
+        if (!holderLoans.isEmpty()) {
+            borrowingRepository.saveAll(holderLoans);
+        }
+
+        return results;
+    }
+
+    @Override
+    public List<BorrowingHistoryEntry> getPatronHistory(Long patronId, String before, int size) {
+        if (patronId == null || patronId <= 0) {
+            throw new IllegalArgumentException("Patron ID cannot be null or less than or equal to 0");
+        }
+
+        validateHistoryPageSize(size);
+
+        if (patronService.getPatronById(patronId).isEmpty()) {
+            throw new PatronNotFoundException("Patron with ID " + patronId + " not found");
+        }
+
+        // Seek past the last loan the client has seen instead of using OFFSET, so old pages cost the same as the newest
+        HistoryCursor cursor = HistoryCursor.parse(before);
+        return borrowingRepository.findPatronHistoryBefore(patronId, cursor.borrowingDate(), cursor.id(), Limit.of(size));
+    }
+
+    @Override
+    public List<BorrowingHistoryEntry> getBookHistory(Long bookId, String before, int size) {
+        if (bookId == null || bookId <= 0) {
+            throw new IllegalArgumentException("Book ID cannot be null or less than or equal to 0");
+        }
+
+        validateHistoryPageSize(size);
+
+        if (bookService.getBookById(bookId).isEmpty()) {
+            throw new BookNotFoundException("Book with ID " + bookId + " not found");
+        }
+
+        HistoryCursor cursor = HistoryCursor.parse(before);
+        return borrowingRepository.findBookHistoryBefore(bookId, cursor.borrowingDate(), cursor.id(), Limit.of(size));
+    }
+
+    // Same two-step claim as borrowBook: the index filters, the conditional update decides
+    private boolean claim(Book book) {
+        AvailabilityStatus status = availabilityService.getStatus(book.getId());
+
+        if (status == AvailabilityStatus.UNAVAILABLE) {
+            return false;
+        }
+
+        if (status == AvailabilityStatus.UNKNOWN) {
+            availabilityService.prime(book.getId(), book.isAvailable());
+        }
 
-            if (borrowing.isEmpty()) {
-                throw new RuntimeException("No borrowing found for book with ID " + bookId + " and patron with ID " + patronId);
+        if (!availabilityService.tryBorrow(book.getId())) {
+            return false;
+        }
+
+        if (bookRepository.claimAvailable(book.getId()) == 0) {
+            availabilityService.forget(book.getId());
+            return false;
+        }
+
+        facetService.setAvailable(book.getId(), false);
+
+        catalogVersion.changed();
+        return true;
+    }
+
+    private void validateHistoryPageSize(int size) {
+        if (size <= 0 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
+        }
+    }
+
+    // The (borrowingDate, id) of the last loan a client has seen, as written by BorrowingHistoryEntry.cursor()
+    private record HistoryCursor(LocalDate borrowingDate, Long id) {
+
+        static HistoryCursor parse(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return new HistoryCursor(HISTORY_START_DATE, Long.MAX_VALUE);
             }
 
-            if (borrowing.get().isReturned()) {
-                throw new AlreadyReturnedBookException("Book with ID " + bookId + " has already been returned by patron with ID " + patronId);
+            int separator = cursor.indexOf(',');
+
+            try {
+                return new HistoryCursor(LocalDate.parse(cursor.substring(0, separator)), Long.parseLong(cursor.substring(separator + 1)));
+            } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid history cursor: " + cursor);
             }
+        }
+    }
 
-            borrowing.get().setReturned(true);
-            borrowingRepository.save(borrowing.get());
+    private Borrowing loanToHolder(Book book, HoldEntry hold) {
+        Borrowing loan = new Borrowing();
+        loan.setBook(book);
+        loan.setPatron(patronRepository.getReferenceById(hold.patronId()));
+        loan.setBorrowingDate(LocalDate.now());
+        loan.setReturnDate(LocalDate.now().plusDays(LOAN_DAYS));
+        loan.setReturned(false);
+        return loan;
+    }
 
-            return true;
+    private void validateBatch(List<BorrowingRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch cannot be null or empty");
+        }
+
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch cannot contain more than " + MAX_BATCH_SIZE + " items");
+        }
+
+        if (requests.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Batch items cannot be null");
+        }
+    }
+
+    private void validateReturnDate(LocalDate returnDate) {
+        if (returnDate == null) {
+            throw new IllegalArgumentException("Return date cannot be null");
+        }
 
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException(e.getMessage());
-        } catch (Exception e) {
-            throw new RuntimeException("An unexpected error occurred", e);
+        if (returnDate.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Return date cannot be before today");
         }
+
+        if (returnDate.isAfter(LocalDate.now().plusDays(LOAN_DAYS))) {
+            throw new IllegalArgumentException("Return date cannot be more than 14 days from today");
+        }
+    }
+
+    private Set<Long> idsOf(List<BorrowingRequest> requests, Function<BorrowingRequest, Long> id) {
+        return requests.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
     }
 }
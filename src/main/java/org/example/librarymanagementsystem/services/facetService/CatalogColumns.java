@@ -0,0 +1,309 @@
+package org.example.librarymanagementsystem.services.facetService;
+
+import org.example.librarymanagementsystem.dto.BookFacetQuery;
+import org.example.librarymanagementsystem.dto.BookFacets;
+import org.example.librarymanagementsystem.dto.FacetCount;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Column store of the faceted book attributes, one row per book.
+// Genre and publisher are dictionary encoded into int codes and availability is a bitset, so counting a facet is one
+// array increment per row. Rows of deleted books are recycled; dictionary codes are not, unused values just count 0.
+final class CatalogColumns {
+
+    private static final int NO_VALUE = -1; // Null genre or publisher
+    private static final int ANY = Integer.MIN_VALUE; // No filter on the column
+    private static final int UNMATCHABLE = -2; // Filter on a value no book has
+
+    private static final int GENRE = 1;
+    private static final int PUBLISHER = 1 << 1;
+    private static final int YEAR = 1 << 2;
+    private static final int AVAILABLE = 1 << 3;
+
+    // Year buckets are counted in an array spanning the years present; rows written outside the API can carry stray
+    // years, and beyond this many buckets a sparse map is used instead
+    private static final int MAX_DENSE_YEAR_BUCKETS = 4096;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> rows = new HashMap<>();
+    private final Dictionary genres = new Dictionary();
+    private final Dictionary publishers = new Dictionary();
+    private final BitSet live = new BitSet();
+    private final BitSet available = new BitSet();
+
+    // Only tracked while a warm-up runs: its pages may predate a delete, or a borrow or return of a row not loaded yet
+    private Set<Long> removedDuringWarmUp;
+    private Map<Long, Boolean> availabilityDuringWarmUp;
+
+    private int[] genreCodes = new int[1024];
+    private int[] publisherCodes = new int[1024];
+    private int[] years = new int[1024];
+    private int[] freeRows = new int[16];
+    private int freeCount;
+    private int rowCount;
+
+    void put(long bookId, String genre, String publisher, int year, boolean isAvailable) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rows.get(bookId);
+
+            if (row == null) {
+                row = allocateRow();
+                rows.put(bookId, row);
+                live.set(row);
+            }
+
+            genreCodes[row] = genres.encode(genre);
+            publisherCodes[row] = publishers.encode(publisher);
+            years[row] = year;
+            available.set(row, isAvailable);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Loads a warm-up row unless a committed write has already put or removed the book. A borrow or return of the book
+    // committed since the warm-up began wins over the availability read with the page.
+    boolean putIfAbsent(long bookId, String genre, String publisher, int year, boolean isAvailable) {
+        lock.writeLock().lock();
+        try {
+            if (rows.containsKey(bookId) || (removedDuringWarmUp != null && removedDuringWarmUp.contains(bookId))) {
+                return false;
+            }
+
+            Boolean committed = availabilityDuringWarmUp == null ? null : availabilityDuringWarmUp.get(bookId);
+            put(bookId, genre, publisher, year, committed != null ? committed : isAvailable);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void beginWarmUp() {
+        lock.writeLock().lock();
+        try {
+            removedDuringWarmUp = new HashSet<>();
+            availabilityDuringWarmUp = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void endWarmUp() {
+        lock.writeLock().lock();
+        try {
+            removedDuringWarmUp = null;
+            availabilityDuringWarmUp = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Borrows and returns only touch one bit; for a book the warm-up has not loaded yet the bit is kept until it is
+    void setAvailable(long bookId, boolean isAvailable) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rows.get(bookId);
+
+            if (row != null) {
+                available.set(row, isAvailable);
+            } else if (availabilityDuringWarmUp != null) {
+                availabilityDuringWarmUp.put(bookId, isAvailable);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long bookId) {
+        lock.writeLock().lock();
+        try {
+            if (removedDuringWarmUp != null) {
+                removedDuringWarmUp.add(bookId);
+            }
+
+            Integer row = rows.remove(bookId);
+
+            if (row != null) {
+                live.clear(row);
+
+                if (freeCount == freeRows.length) {
+                    freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+                }
+
+                freeRows[freeCount++] = row;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    BookFacets facets(BookFacetQuery query) {
+        lock.readLock().lock();
+        try {
+            int genreFilter = query.genre() == null ? ANY : genres.codeOf(query.genre());
+            int publisherFilter = query.publisher() == null ? ANY : publishers.codeOf(query.publisher());
+            int yearFrom = query.yearFrom() == null ? Integer.MIN_VALUE : query.yearFrom();
+            int yearTo = query.yearTo() == null ? Integer.MAX_VALUE : query.yearTo();
+            int bucket = query.yearBucket();
+
+            int firstBucket = Integer.MAX_VALUE;
+            int lastBucket = -1;
+
+            for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+                if (years[row] > 0) {
+                    firstBucket = Math.min(firstBucket, years[row] / bucket);
+                    lastBucket = Math.max(lastBucket, years[row] / bucket);
+                }
+            }
+
+            int[] genreCounts = new int[genres.size()];
+            int[] publisherCounts = new int[publishers.size()];
+            boolean dense = lastBucket < 0 || lastBucket - firstBucket < MAX_DENSE_YEAR_BUCKETS;
+            int[] yearCounts = dense ? new int[Math.max(0, lastBucket - firstBucket + 1)] : null;
+            SortedMap<Integer, Integer> sparseYearCounts = dense ? null : new TreeMap<>();
+            int[] availableCounts = new int[2];
+            int total = 0;
+
+            for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+                int genre = genreCodes[row];
+                int publisher = publisherCodes[row];
+                int year = years[row];
+                boolean isAvailable = available.get(row);
+
+                int failed = 0;
+                if (genreFilter != ANY && genre != genreFilter) {
+                    failed |= GENRE;
+                }
+                if (publisherFilter != ANY && publisher != publisherFilter) {
+                    failed |= PUBLISHER;
+                }
+                if (year < yearFrom || year > yearTo) {
+                    failed |= YEAR;
+                }
+                if (query.available() != null && isAvailable != query.available()) {
+                    failed |= AVAILABLE;
+                }
+
+                // A row that only fails one filter still counts towards that filter's own facet
+                if (failed == 0) {
+                    total++;
+                }
+                if ((failed & ~GENRE) == 0 && genre != NO_VALUE) {
+                    genreCounts[genre]++;
+                }
+                if ((failed & ~PUBLISHER) == 0 && publisher != NO_VALUE) {
+                    publisherCounts[publisher]++;
+                }
+                if ((failed & ~YEAR) == 0 && year > 0) {
+                    if (dense) {
+                        yearCounts[year / bucket - firstBucket]++;
+                    } else {
+                        sparseYearCounts.merge(year / bucket, 1, Integer::sum);
+                    }
+                }
+                if ((failed & ~AVAILABLE) == 0) {
+                    availableCounts[isAvailable ? 1 : 0]++;
+                }
+            }
+
+            return new BookFacets(total,
+                    genres.top(genreCounts, query.limit()),
+                    publishers.top(publisherCounts, query.limit()),
+                    dense ? yearFacet(yearCounts, firstBucket, bucket) : yearFacet(sparseYearCounts, bucket),
+                    List.of(new FacetCount("true", availableCounts[1]), new FacetCount("false", availableCounts[0])));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int allocateRow() {
+        if (freeCount > 0) {
+            return freeRows[--freeCount];
+        }
+
+        if (rowCount == years.length) {
+            int capacity = rowCount * 2;
+            genreCodes = Arrays.copyOf(genreCodes, capacity);
+            publisherCodes = Arrays.copyOf(publisherCodes, capacity);
+            years = Arrays.copyOf(years, capacity);
+        }
+
+        return rowCount++;
+    }
+
+    // Buckets in ascending year order, labelled "1990-1999" or just "1990" for one-year buckets
+    private static List<FacetCount> yearFacet(int[] counts, int firstBucket, int bucket) {
+        List<FacetCount> facet = new ArrayList<>();
+
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                facet.add(yearCount(firstBucket + i, bucket, counts[i]));
+            }
+        }
+
+        return facet;
+    }
+
+    private static List<FacetCount> yearFacet(SortedMap<Integer, Integer> counts, int bucket) {
+        List<FacetCount> facet = new ArrayList<>();
+        counts.forEach((index, count) -> facet.add(yearCount(index, bucket, count)));
+        return facet;
+    }
+
+    private static FacetCount yearCount(int index, int bucket, int count) {
+        long start = (long) index * bucket; // The last bucket can end past Integer.MAX_VALUE
+        String label = bucket == 1 ? String.valueOf(start) : start + "-" + (start + bucket - 1);
+        return new FacetCount(label, count);
+    }
+
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        private int encode(String value) {
+            if (value == null) {
+                return NO_VALUE;
+            }
+
+            return codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        private int codeOf(String value) {
+            return codes.getOrDefault(value, UNMATCHABLE);
+        }
+
+        private int size() {
+            return values.size();
+        }
+
+        // Most frequent values first, ties in alphabetical order; values no book matches are left out
+        private List<FacetCount> top(int[] counts, int limit) {
+            List<FacetCount> facet = new ArrayList<>();
+
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    facet.add(new FacetCount(values.get(code), counts[code]));
+                }
+            }
+
+            facet.sort(Comparator.comparingInt(FacetCount::count).reversed().thenComparing(FacetCount::value));
+            return facet.size() > limit ? facet.subList(0, limit) : facet;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.librarymanagementsystem.services.facetService;
+
+import org.example.librarymanagementsystem.dto.BookFacetQuery;
+import org.example.librarymanagementsystem.dto.BookFacets;
+import org.example.librarymanagementsystem.entities.Book;
+
+public interface FacetService {
+
+    BookFacets getFacets(BookFacetQuery query);
+    void index(Book book);
+    void remove(Long bookId);
+    void setAvailable(Long bookId, boolean available);
+    int warmUp();
+    boolean isWarmedUp();
+}
@@ -0,0 +1,143 @@
+package org.example.librarymanagementsystem.services.facetService;
+
+import org.example.librarymanagementsystem.dto.BookFacetQuery;
+import org.example.librarymanagementsystem.dto.BookFacetRow;
+import org.example.librarymanagementsystem.dto.BookFacets;
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.exceptions.bookExceptions.CatalogIndexNotReadyException;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.utilities.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class FacetServiceImpl implements FacetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FacetServiceImpl.class);
+    private static final int WARM_UP_BATCH_SIZE = 10_000;
+
+    public static final int MAX_YEAR_BUCKET = 100;
+    public static final int MAX_FACET_VALUES = 1000;
+
+    private final BookRepository bookRepository;
+    private final CatalogColumns columns = new CatalogColumns();
+    private final AtomicBoolean warming = new AtomicBoolean();
+
+    // Counts come from memory only, so until every book has been loaded they would silently undercount
+    private volatile boolean warmedUp;
+
+    @Autowired
+    public FacetServiceImpl(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @Override
+    public BookFacets getFacets(BookFacetQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Facet query cannot be null");
+        }
+
+        if (query.yearBucket() <= 0 || query.yearBucket() > MAX_YEAR_BUCKET) {
+            throw new IllegalArgumentException("Year bucket must be between 1 and " + MAX_YEAR_BUCKET);
+        }
+
+        if (query.limit() <= 0 || query.limit() > MAX_FACET_VALUES) {
+            throw new IllegalArgumentException("Facet limit must be between 1 and " + MAX_FACET_VALUES);
+        }
+
+        if (query.yearFrom() != null && query.yearTo() != null && query.yearFrom() > query.yearTo()) {
+            throw new IllegalArgumentException("Year range start cannot be after its end");
+        }
+
+        if (!warmedUp) {
+            throw new CatalogIndexNotReadyException("Facet columns are still loading");
+        }
+
+        return columns.facets(query);
+    }
+
+    @Override
+    public void index(Book book) {
+        if (book == null || book.getId() == null) {
+            return;
+        }
+
+        // Values are taken now, the entity may be changed again before the transaction commits
+        long bookId = book.getId();
+        String genre = book.getGenre();
+        String publisher = book.getPublisher();
+        int year = book.getPublicationYear();
+        boolean available = book.isAvailable();
+
+        AfterCommit.run(() -> columns.put(bookId, genre, publisher, year, available));
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        if (bookId == null) {
+            return;
+        }
+
+        AfterCommit.run(() -> columns.remove(bookId));
+    }
+
+    @Override
+    public void setAvailable(Long bookId, boolean available) {
+        if (bookId == null) {
+            return;
+        }
+
+        AfterCommit.run(() -> columns.setAvailable(bookId, available));
+    }
+
+    @Override
+    public int warmUp() {
+        // A retry must not start while the startup warm-up is still loading
+        if (!warming.compareAndSet(false, true)) {
+            return 0;
+        }
+
+        int warmed = 0;
+        columns.beginWarmUp();
+
+        try {
+            long afterId = 0;
+            List<BookFacetRow> page;
+
+            do {
+                page = bookRepository.findFacetRowsAfter(afterId, Limit.of(WARM_UP_BATCH_SIZE));
+
+                for (BookFacetRow row : page) {
+                    // Writes committed after this page was read already hold a newer state, or removed the book
+                    columns.putIfAbsent(row.id(), row.genre(), row.publisher(), row.publicationYear(), row.available());
+                    afterId = row.id();
+                }
+
+                warmed += page.size();
+            } while (page.size() == WARM_UP_BATCH_SIZE);
+
+            warmedUp = true;
+            logger.info("Facet columns warmed with {} books", warmed);
+        } catch (DataAccessException e) {
+            // Stays cold and keeps answering 503 until StartupWarmUp retries; rows already loaded are kept
+            logger.warn("Facet columns warm-up stopped after {} books: {}", warmed, e.getMessage());
+        } finally {
+            columns.endWarmUp();
+            warming.set(false);
+        }
+
+        return warmed;
+    }
+
+    @Override
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.librarymanagementsystem.services.fineService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+// How much a late loan costs: a daily rate once the grace period is over, capped at a maximum per loan
+@Component
+public class FinePolicy {
+
+    private final BigDecimal dailyRate;
+    private final int graceDays;
+    private final BigDecimal maxFine;
+
+    public FinePolicy(@Value("${library.fines.daily-rate:0.25}") BigDecimal dailyRate,
+                      @Value("${library.fines.grace-days:0}") int graceDays,
+                      @Value("${library.fines.max-fine:20.00}") BigDecimal maxFine) {
+        if (dailyRate.signum() < 0 || maxFine.signum() < 0 || graceDays < 0) {
+            throw new IllegalArgumentException("Fine rate, grace days and maximum fine cannot be negative");
+        }
+
+        this.dailyRate = dailyRate;
+        this.graceDays = graceDays;
+        this.maxFine = maxFine;
+    }
+
+    public BigDecimal getDailyRate() {
+        return dailyRate;
+    }
+
+    public BigDecimal getMaxFine() {
+        return maxFine;
+    }
+
+    // Loans due before this date are past their grace period on the given day
+    public LocalDate chargeableBefore(LocalDate day) {
+        return day.minusDays(graceDays);
+    }
+
+    public BigDecimal fineFor(LocalDate dueDate, LocalDate day) {
+        long daysLate = ChronoUnit.DAYS.between(dueDate, chargeableBefore(day));
+
+        if (daysLate <= 0) {
+            return BigDecimal.ZERO;
+        }
+
+        return dailyRate.multiply(BigDecimal.valueOf(daysLate)).min(maxFine);
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.librarymanagementsystem.services.fineService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface FineService {
+
+    BigDecimal fineOnReturn(LocalDate dueDate);
+
+    int accrueFines();
+}
@@ -0,0 +1,72 @@
+package org.example.librarymanagementsystem.services.fineService;
+
+import org.example.librarymanagementsystem.repositories.BorrowingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Service
+public class FineServiceImpl implements FineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FineServiceImpl.class);
+
+    private final BorrowingRepository borrowingRepository;
+    private final FinePolicy finePolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public FineServiceImpl(BorrowingRepository borrowingRepository, FinePolicy finePolicy, PlatformTransactionManager transactionManager,
+                           @Value("${library.fines.batch-size:10000}") int batchSize) {
+        this.borrowingRepository = borrowingRepository;
+        this.finePolicy = finePolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public BigDecimal fineOnReturn(LocalDate dueDate) {
+        return finePolicy.fineFor(dueDate, LocalDate.now());
+    }
+
+    // Recomputes the fine of every open overdue loan with one UPDATE per id window, without loading any borrowing.
+    // Each window commits on its own, so row locks are held briefly and a failure only loses the window it happened in.
+    @Scheduled(cron = "${library.fines.accrual-cron:0 30 0 * * *}")
+    @Override
+    public int accrueFines() {
+        LocalDate chargeableBefore = finePolicy.chargeableBefore(LocalDate.now());
+        int updated = 0;
+
+        try {
+            Long minId = borrowingRepository.findMinOpenIdDueBefore(chargeableBefore);
+            Long maxId = borrowingRepository.findMaxOpenIdDueBefore(chargeableBefore);
+
+            if (minId == null || maxId == null) {
+                return 0;
+            }
+
+            for (long fromId = minId; fromId <= maxId; fromId += batchSize) {
+                long from = fromId;
+                Integer rows = transactionTemplate.execute(status -> borrowingRepository.accrueFines(from, from + batchSize,
+                        chargeableBefore, finePolicy.getDailyRate(), finePolicy.getMaxFine()));
+                updated += rows == null ? 0 : rows;
+            }
+
+            logger.info("Fine accrual updated {} overdue loans", updated);
+        } catch (DataAccessException e) {
+            // Fines are recomputed from the due date, so the next run repairs anything this one missed
+            logger.warn("Fine accrual stopped after {} loans: {}", updated, e.getMessage());
+        }
+
+        return updated;
+    }
+}
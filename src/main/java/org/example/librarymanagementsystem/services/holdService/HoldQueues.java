@@ -0,0 +1,67 @@
+package org.example.librarymanagementsystem.services.holdService;
+
+import org.example.librarymanagementsystem.dto.HoldEntry;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// One lock-free FIFO of holds per book. Holds are appended when they commit, so a queue is in commit order; the queued
+// set keeps the warm-up from appending a hold a concurrent commit already added. Entries can go stale when another
+// instance removes a hold, which is why the database delete, not the queue, decides who gets a copy.
+class HoldQueues {
+
+    private final ConcurrentHashMap<Long, Queue<HoldEntry>> queues = new ConcurrentHashMap<>();
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    void add(HoldEntry hold) {
+        if (queued.add(hold.holdId())) {
+            queues.computeIfAbsent(hold.bookId(), id -> new ConcurrentLinkedQueue<>()).add(hold);
+        }
+    }
+
+    Optional<HoldEntry> peek(Long bookId) {
+        Queue<HoldEntry> queue = queues.get(bookId);
+        return queue == null ? Optional.empty() : Optional.ofNullable(queue.peek());
+    }
+
+    void remove(HoldEntry hold) {
+        Queue<HoldEntry> queue = queues.get(hold.bookId());
+
+        if (queue != null) {
+            queue.remove(hold);
+        }
+
+        queued.remove(hold.holdId());
+    }
+
+    Optional<HoldEntry> find(Long bookId, Long patronId) {
+        Queue<HoldEntry> queue = queues.get(bookId);
+
+        if (queue == null) {
+            return Optional.empty();
+        }
+
+        return queue.stream().filter(hold -> hold.patronId().equals(patronId)).findFirst();
+    }
+
+    // Holds ahead of the given one; the weakly consistent iterator makes this exact only when the queue is quiet
+    int position(HoldEntry hold) {
+        Queue<HoldEntry> queue = queues.get(hold.bookId());
+        int ahead = 0;
+
+        if (queue != null) {
+            for (HoldEntry entry : queue) {
+                if (entry.holdId().equals(hold.holdId())) {
+                    return ahead;
+                }
+
+                ahead++;
+            }
+        }
+
+        return ahead;
+    }
+}
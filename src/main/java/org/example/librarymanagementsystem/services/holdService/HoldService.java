@@ -0,0 +1,19 @@
+package org.example.librarymanagementsystem.services.holdService;
+
+import org.example.librarymanagementsystem.dto.HoldEntry;
+import org.example.librarymanagementsystem.dto.HoldResult;
+
+import java.util.Optional;
+
+public interface HoldService {
+
+    HoldResult placeHold(Long bookId, Long patronId);
+
+    boolean cancelHold(Long bookId, Long patronId);
+
+    int getQueueLength(Long bookId);
+
+    Optional<HoldEntry> claimNext(Long bookId);
+
+    int warmUp();
+}
@@ -0,0 +1,205 @@
+package org.example.librarymanagementsystem.services.holdService;
+
+import jakarta.transaction.Transactional;
+import org.example.librarymanagementsystem.dto.HoldEntry;
+import org.example.librarymanagementsystem.dto.HoldResult;
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.entities.Hold;
+import org.example.librarymanagementsystem.entities.Patron;
+import org.example.librarymanagementsystem.exceptions.Patron.PatronNotFoundException;
+import org.example.librarymanagementsystem.exceptions.bookExceptions.BookNotFoundException;
+import org.example.librarymanagementsystem.exceptions.holdExceptions.HoldNotFoundException;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.repositories.BorrowingRepository;
+import org.example.librarymanagementsystem.repositories.HoldRepository;
+import org.example.librarymanagementsystem.services.bookService.BookService;
+import org.example.librarymanagementsystem.services.patronService.PatronService;
+import org.example.librarymanagementsystem.utilities.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class HoldServiceImpl implements HoldService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HoldServiceImpl.class);
+    private static final int WARM_UP_BATCH_SIZE = 10_000;
+
+    private final HoldRepository holdRepository;
+    private final BookRepository bookRepository;
+    private final BorrowingRepository borrowingRepository;
+    private final BookService bookService;
+    private final PatronService patronService;
+    private final HoldQueues queues = new HoldQueues();
+
+    // Until the warm-up has loaded every hold the queues are skipped. After that they are still only a hint, since holds
+    // placed on other instances or directly in the database never reach them
+    private volatile boolean warmedUp;
+
+    @Autowired
+    public HoldServiceImpl(HoldRepository holdRepository, BookRepository bookRepository, BorrowingRepository borrowingRepository,
+                           BookService bookService, PatronService patronService) {
+        this.holdRepository = holdRepository;
+        this.bookRepository = bookRepository;
+        this.borrowingRepository = borrowingRepository;
+        this.bookService = bookService;
+        this.patronService = patronService;
+    }
+
+    @Transactional
+    @Override
+    public HoldResult placeHold(Long bookId, Long patronId) {
+        try {
+            if (bookId == null || bookId <= 0) {
+                throw new IllegalArgumentException("Book ID cannot be null or less than or equal to 0");
+            }
+
+            if (patronId == null || patronId <= 0) {
+                throw new IllegalArgumentException("Patron ID cannot be null or less than or equal to 0");
+            }
+
+            Optional<Book> book = bookService.getBookById(bookId);
+
+            if (book.isEmpty()) {
+                throw new BookNotFoundException("Book with ID " + bookId + " not found");
+            }
+
+            Optional<Patron> patron = patronService.getPatronById(patronId);
+
+            if (patron.isEmpty()) {
+                throw new PatronNotFoundException("Patron with ID " + patronId + " not found");
+            }
+
+            // The cached book may be stale. Locking its row orders this hold against a concurrent return: either the return
+            // commits first and the copy reads as available here, or it waits and its claimNext then finds this hold
+            if (bookRepository.lockById(bookId).map(Book::isAvailable).orElse(false)) {
+                throw new IllegalArgumentException("Book with ID " + bookId + " is available and can be borrowed directly");
+            }
+
+            if (borrowingRepository.findOpenByBookIdAndPatronId(bookId, patronId).isPresent()) {
+                throw new IllegalArgumentException("Patron with ID " + patronId + " is already borrowing book with ID " + bookId);
+            }
+
+            if (holdRepository.existsByBookIdAndPatronId(bookId, patronId)) {
+                throw new IllegalArgumentException("Patron with ID " + patronId + " already has a hold on book with ID " + bookId);
+            }
+
+            Hold hold = new Hold();
+            hold.setBook(book.get());
+            hold.setPatron(patron.get());
+            hold.setPlacedAt(LocalDateTime.now());
+            hold = holdRepository.saveAndFlush(hold);
+
+            HoldEntry entry = new HoldEntry(hold.getId(), bookId, patronId);
+            AfterCommit.run(() -> queues.add(entry));
+
+            return new HoldResult(hold.getId(), bookId, patronId, (int) holdRepository.countAhead(bookId, hold.getId()));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request placed the same hold first
+            throw new IllegalArgumentException("Patron with ID " + patronId + " already has a hold on book with ID " + bookId);
+        }
+    }
+
+    @Transactional
+    @Override
+    public boolean cancelHold(Long bookId, Long patronId) {
+        if (bookId == null || bookId <= 0) {
+            throw new IllegalArgumentException("Book ID cannot be null or less than or equal to 0");
+        }
+
+        if (patronId == null || patronId <= 0) {
+            throw new IllegalArgumentException("Patron ID cannot be null or less than or equal to 0");
+        }
+
+        if (holdRepository.deleteByBookIdAndPatronId(bookId, patronId) == 0) {
+            throw new HoldNotFoundException("No hold found for book with ID " + bookId + " and patron with ID " + patronId);
+        }
+
+        AfterCommit.run(() -> queues.find(bookId, patronId).ifPresent(queues::remove));
+        return true;
+    }
+
+    @Override
+    public int getQueueLength(Long bookId) {
+        if (bookId == null || bookId <= 0) {
+            throw new IllegalArgumentException("Book ID cannot be null or less than or equal to 0");
+        }
+
+        // Counted in the database: the local queue misses holds placed on other instances
+        return (int) holdRepository.countByBookId(bookId);
+    }
+
+    // Runs inside the caller's return transaction, under the same book row lock placeHold takes. The head of the
+    // in-memory queue is claimed by deleting its row; stale heads (cancelled elsewhere) are skipped. An empty local
+    // queue is then confirmed against the database.
+    @Override
+    public Optional<HoldEntry> claimNext(Long bookId) {
+        bookRepository.lockById(bookId);
+
+        if (warmedUp) {
+            Optional<HoldEntry> head;
+
+            while ((head = queues.peek(bookId)).isPresent()) {
+                HoldEntry hold = head.get();
+
+                if (holdRepository.deleteHold(hold.holdId()) == 1) {
+                    AfterCommit.run(() -> queues.remove(hold));
+                    return head;
+                }
+
+                queues.remove(hold);
+            }
+        }
+
+        List<HoldEntry> queue;
+
+        // A head that cannot be deleted was cancelled meanwhile, so the next one is read
+        while (!(queue = holdRepository.findQueue(bookId, Limit.of(1))).isEmpty()) {
+            HoldEntry hold = queue.get(0);
+
+            if (holdRepository.deleteHold(hold.holdId()) == 1) {
+                AfterCommit.run(() -> queues.remove(hold));
+                return Optional.of(hold);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public int warmUp() {
+        int warmed = 0;
+
+        try {
+            long afterId = 0;
+            List<HoldEntry> page;
+
+            do {
+                page = holdRepository.findHoldsAfter(afterId, Limit.of(WARM_UP_BATCH_SIZE));
+
+                for (HoldEntry hold : page) {
+                    queues.add(hold);
+                    afterId = hold.holdId();
+                }
+
+                warmed += page.size();
+            } while (page.size() == WARM_UP_BATCH_SIZE);
+
+            warmedUp = true;
+            logger.info("Hold queues warmed with {} holds", warmed);
+        } catch (DataAccessException e) {
+            // Queues stay cold and every lookup keeps going to the database
+            logger.warn("Hold queue warm-up stopped after {} holds: {}", warmed, e.getMessage());
+        }
+
+        return warmed;
+    }
+}
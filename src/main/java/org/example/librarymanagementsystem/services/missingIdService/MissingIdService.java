@@ -0,0 +1,11 @@
+package org.example.librarymanagementsystem.services.missingIdService;
+
+public interface MissingIdService {
+
+    boolean isBookMissing(Long bookId);
+    void markBookMissing(Long bookId);
+    void markBookPresent(Long bookId);
+    boolean isPatronMissing(Long patronId);
+    void markPatronMissing(Long patronId);
+    void markPatronPresent(Long patronId);
+}
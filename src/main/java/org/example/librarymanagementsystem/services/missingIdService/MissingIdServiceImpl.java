@@ -0,0 +1,63 @@
+package org.example.librarymanagementsystem.services.missingIdService;
+
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.repositories.PatronRepository;
+import org.example.librarymanagementsystem.utilities.AfterCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+@Service
+public class MissingIdServiceImpl implements MissingIdService {
+
+    private final MissingIds books;
+    private final MissingIds patrons;
+
+    @Autowired
+    public MissingIdServiceImpl(BookRepository bookRepository, PatronRepository patronRepository,
+                                @Value("${library.missing-ids.spec:maximumSize=100000,expireAfterWrite=30s}") String spec,
+                                @Value("${library.missing-ids.max-id-refresh:1s}") Duration maxIdRefresh) {
+        this.books = new MissingIds(spec, () -> orZero(bookRepository.findMaxId()), maxIdRefresh);
+        this.patrons = new MissingIds(spec, () -> orZero(patronRepository.findMaxId()), maxIdRefresh);
+    }
+
+    @Override
+    public boolean isBookMissing(Long bookId) {
+        return bookId != null && books.isMissing(bookId);
+    }
+
+    @Override
+    public void markBookMissing(Long bookId) {
+        books.markMissing(bookId);
+    }
+
+    @Override
+    public void markBookPresent(Long bookId) {
+        books.markPresent(bookId);
+        // A probe racing the insert can still miss the uncommitted row and leave a tombstone behind
+        AfterCommit.run(() -> books.markPresent(bookId));
+    }
+
+    @Override
+    public boolean isPatronMissing(Long patronId) {
+        return patronId != null && patrons.isMissing(patronId);
+    }
+
+    @Override
+    public void markPatronMissing(Long patronId) {
+        patrons.markMissing(patronId);
+    }
+
+    @Override
+    public void markPatronPresent(Long patronId) {
+        patrons.markPresent(patronId);
+        // A probe racing the insert can still miss the uncommitted row and leave a tombstone behind
+        AfterCommit.run(() -> patrons.markPresent(patronId));
+    }
+
+    private static long orZero(Long maxId) {
+        return maxId == null ? 0 : maxId;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.librarymanagementsystem.services.missingIdService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Negative cache for one table: short-lived tombstones for IDs that were looked up and not found, plus the highest ID
+// known to exist. The bound is only trusted to reject an ID right after it was re-read; a stale bound would turn rows
+// inserted by other instances or directly in the database into false 404s
+class MissingIds {
+
+    private final Cache<Long, Boolean> tombstones;
+    private final LongSupplier maxIdQuery;
+    private final long refreshNanos;
+    private final AtomicLong maxId = new AtomicLong(0);
+    private final AtomicLong refreshedAt;
+
+    MissingIds(String spec, LongSupplier maxIdQuery, Duration maxIdRefresh) {
+        this.tombstones = Caffeine.from(spec).build();
+        this.maxIdQuery = maxIdQuery;
+        this.refreshNanos = maxIdRefresh.toNanos();
+        this.refreshedAt = new AtomicLong(System.nanoTime() - refreshNanos);
+    }
+
+    boolean isMissing(long id) {
+        if (tombstones.getIfPresent(id) != null) {
+            return true;
+        }
+
+        if (id <= maxId.get()) {
+            return false;
+        }
+
+        // Between refreshes an ID above the bound is left to the caller's lookup, which tombstones it if it really is missing
+        return refreshMaxId() && id > maxId.get();
+    }
+
+    void markMissing(long id) {
+        tombstones.put(id, Boolean.TRUE);
+    }
+
+    void markPresent(long id) {
+        tombstones.invalidate(id);
+        maxId.accumulateAndGet(id, Math::max);
+    }
+
+    // Returns whether this caller re-read the bound. Only the caller that wins the CAS queries, at most once per interval
+    private boolean refreshMaxId() {
+        long last = refreshedAt.get();
+        long now = System.nanoTime();
+
+        if (now - last < refreshNanos || !refreshedAt.compareAndSet(last, now)) {
+            return false;
+        }
+
+        maxId.accumulateAndGet(maxIdQuery.getAsLong(), Math::max);
+        return true;
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.librarymanagementsystem.services.overdueService;
+
+import org.example.librarymanagementsystem.dto.OverdueLoan;
+
+// Published once per loan, the first time a scan finds it open after its return date
+public record OverdueLoanEvent(OverdueLoan loan) {
+}
@@ -0,0 +1,21 @@
+package org.example.librarymanagementsystem.services.overdueService;
+
+import org.example.librarymanagementsystem.dto.OverdueLoan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Default notification channel for overdue loans; other channels (email, SMS) can listen to the same event
+@Component
+public class OverdueNotificationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueNotificationListener.class);
+
+    @EventListener
+    public void onOverdueLoan(OverdueLoanEvent event) {
+        OverdueLoan loan = event.loan();
+        logger.info("Loan {} of book {} by patron {} is overdue since {}", loan.borrowingId(), loan.bookId(),
+                loan.patronId(), loan.returnDate());
+    }
+}
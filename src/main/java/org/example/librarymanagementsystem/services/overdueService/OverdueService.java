@@ -0,0 +1,6 @@
+package org.example.librarymanagementsystem.services.overdueService;
+
+public interface OverdueService {
+
+    int scanOverdueLoans();
+}
@@ -0,0 +1,93 @@
+package org.example.librarymanagementsystem.services.overdueService;
+
+import org.example.librarymanagementsystem.dto.OverdueLoan;
+import org.example.librarymanagementsystem.entities.JobCheckpoint;
+import org.example.librarymanagementsystem.repositories.BorrowingRepository;
+import org.example.librarymanagementsystem.repositories.JobCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Finds loans that have become overdue since the last run.
+// Return dates are never in the past when a loan is created, so every loan that can still become overdue sorts after the
+// (returnDate, id) high-water mark of the previous run: each scan only reads the newly overdue range of
+// idx_borrowings_open_due, one batch at a time, and memory stays flat however large the borrowings table grows.
+@Service
+public class OverdueServiceImpl implements OverdueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueServiceImpl.class);
+
+    static final String JOB_NAME = "overdue-loans";
+    private static final LocalDate START = LocalDate.of(1970, 1, 1);
+
+    private final BorrowingRepository borrowingRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    @Autowired
+    public OverdueServiceImpl(BorrowingRepository borrowingRepository, JobCheckpointRepository checkpointRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${library.overdue.batch-size:500}") int batchSize) {
+        this.borrowingRepository = borrowingRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${library.overdue.scan-interval:PT15M}", initialDelayString = "${library.overdue.initial-delay:PT1M}")
+    @Override
+    public int scanOverdueLoans() {
+        int found = 0;
+
+        try {
+            JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME).orElseGet(OverdueServiceImpl::initialCheckpoint);
+            LocalDate today = LocalDate.now();
+            List<OverdueLoan> batch;
+
+            do {
+                batch = borrowingRepository.findOverdueAfter(checkpoint.getMarkDate(), checkpoint.getMarkId(), today,
+                        Limit.of(batchSize));
+
+                for (OverdueLoan loan : batch) {
+                    eventPublisher.publishEvent(new OverdueLoanEvent(loan));
+                }
+
+                if (!batch.isEmpty()) {
+                    // Saved per batch, so a failure part way through only repeats the batch that failed
+                    OverdueLoan last = batch.get(batch.size() - 1);
+                    checkpoint.setMarkDate(last.returnDate());
+                    checkpoint.setMarkId(last.borrowingId());
+                    checkpoint = checkpointRepository.save(checkpoint);
+                    found += batch.size();
+                }
+            } while (batch.size() == batchSize);
+
+            if (found > 0) {
+                logger.info("Overdue scan found {} newly overdue loans", found);
+            }
+        } catch (DataAccessException e) {
+            // The next run resumes from the last saved checkpoint
+            logger.warn("Overdue scan stopped after {} loans: {}", found, e.getMessage());
+        }
+
+        return found;
+    }
+
+    private static JobCheckpoint initialCheckpoint() {
+        JobCheckpoint checkpoint = new JobCheckpoint();
+        checkpoint.setJobName(JOB_NAME);
+        checkpoint.setMarkDate(START);
+        checkpoint.setMarkId(0L);
+        return checkpoint;
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.librarymanagementsystem.services.patronEmailService;
+
+public interface PatronEmailService {
+
+    boolean mightBeRegistered(String email);
+    void register(String email);
+    int warmUp();
+}
@@ -0,0 +1,85 @@
+package org.example.librarymanagementsystem.services.patronEmailService;
+
+import org.example.librarymanagementsystem.dto.PatronEmail;
+import org.example.librarymanagementsystem.repositories.PatronRepository;
+import org.example.librarymanagementsystem.utilities.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class PatronEmailServiceImpl implements PatronEmailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PatronEmailServiceImpl.class);
+    private static final int WARM_UP_BATCH_SIZE = 10_000;
+
+    private final PatronRepository patronRepository;
+    private final EmailBloomFilter filter;
+
+    // Until every existing email has been loaded a negative answer could be wrong, so everything counts as a maybe
+    private volatile boolean warmedUp;
+
+    @Autowired
+    public PatronEmailServiceImpl(PatronRepository patronRepository,
+                                  @Value("${library.patrons.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                                  @Value("${library.patrons.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.patronRepository = patronRepository;
+        this.filter = new EmailBloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @Override
+    public boolean mightBeRegistered(String email) {
+        if (email == null) {
+            return false;
+        }
+
+        return !warmedUp || filter.mightContain(email);
+    }
+
+    @Override
+    public void register(String email) {
+        if (email == null) {
+            return;
+        }
+
+        // Only committed emails are added, a rolled back insert would otherwise leave a permanent false positive
+        AfterCommit.run(() -> filter.add(email));
+    }
+
+    @Override
+    public int warmUp() {
+        int warmed = 0;
+
+        try {
+            long afterId = 0;
+            List<PatronEmail> page;
+
+            do {
+                page = patronRepository.findEmailsAfter(afterId, Limit.of(WARM_UP_BATCH_SIZE));
+
+                for (PatronEmail patron : page) {
+                    if (patron.email() != null) {
+                        filter.add(patron.email());
+                    }
+                    afterId = patron.id();
+                }
+
+                warmed += page.size();
+            } while (page.size() == WARM_UP_BATCH_SIZE);
+
+            warmedUp = true;
+            logger.info("Patron email filter warmed with {} patrons", warmed);
+        } catch (DataAccessException e) {
+            // Stays cold, so every registration keeps checking the database
+            logger.warn("Patron email filter warm-up stopped after {} patrons: {}", warmed, e.getMessage());
+        }
+
+        return warmed;
+    }
+}
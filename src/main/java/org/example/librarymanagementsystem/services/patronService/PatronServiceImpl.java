@@ -1,12 +1,18 @@
 package org.example.librarymanagementsystem.services.patronService;
 
 import jakarta.transaction.Transactional;
+import org.example.librarymanagementsystem.aop.RetryOnConflict;
 import org.example.librarymanagementsystem.exceptions.Patron.PatronNotFoundException;
 import org.example.librarymanagementsystem.entities.Patron;
 import org.example.librarymanagementsystem.repositories.PatronRepository;
+import org.example.librarymanagementsystem.services.missingIdService.MissingIdService;
+import org.example.librarymanagementsystem.services.patronEmailService.PatronEmailService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.dao.DataAccessException;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,142 +22,139 @@ import java.util.Optional;
 public class PatronServiceImpl implements PatronService{
 
     private final PatronRepository patronRepository;
+    private final PatronEmailService patronEmailService;
+    private final MissingIdService missingIdService;
 
     @Autowired
-    public PatronServiceImpl(PatronRepository patronRepository) {
+    public PatronServiceImpl(PatronRepository patronRepository, PatronEmailService patronEmailService,
+                             MissingIdService missingIdService) {
         this.patronRepository = patronRepository;
+        this.patronEmailService = patronEmailService;
+        this.missingIdService = missingIdService;
     }
 
-    @Cacheable(value = "patrons") // Caching the result of this method
+    @Cacheable(value = "patronQueries", key = "'all'") // Lists live in their own cache so large payloads cannot evict hot single-patron entries
     @Override
     public List<Patron> getAllPatrons() {
-        try {
-            List<Patron> patrons = patronRepository.findAll();
-
-            if (patrons.isEmpty()) {
-                throw new PatronNotFoundException("No patrons found");
-            }
+        List<Patron> patrons = patronRepository.findAll();
 
-            return patrons;
-        } catch (PatronNotFoundException e) {
-            throw new PatronNotFoundException(e.getMessage());
-        } catch (DataAccessException e) {
-            throw new RuntimeException("An error occurred while fetching the patrons", e);
-        } catch (Exception e) {
-            throw new RuntimeException("An unexpected error occurred", e);
+        if (patrons.isEmpty()) {
+            throw new PatronNotFoundException("No patrons found");
         }
+
+        return patrons;
     }
 
-    @Cacheable(value = "patrons", key = "#id") //
+    @Cacheable(value = "patrons", key = "#id")
     @Override
     public Optional<Patron> getPatronById(Long id) {
-        try {
-            if (id == null || id <= 0) {
-                throw new IllegalArgumentException("Patron ID cannot be null or less than or equal to 0");
-            }
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException("Patron ID cannot be null or less than or equal to 0");
+        }
 
-            Optional<Patron> patron = patronRepository.findById(id);
+        // Unknown IDs are answered from tombstones and the max-ID bound instead of reaching the database
+        if (missingIdService.isPatronMissing(id)) {
+            throw new PatronNotFoundException("Patron with ID " + id + " not found");
+        }
 
-            if (patron.isPresent()) {
-                return patron;
-            } else {
-                throw new PatronNotFoundException("Patron with ID " + id + " not found");
-            }
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException(e.getMessage());
-        } catch (PatronNotFoundException e) {
-            throw new PatronNotFoundException(e.getMessage());
-        } catch (DataAccessException e) {
-            throw new RuntimeException("An error occurred while fetching the patron", e);
+        Optional<Patron> patron = patronRepository.findById(id);
+
+        if (patron.isPresent()) {
+            return patron;
+        } else {
+            missingIdService.markPatronMissing(id);
+            throw new PatronNotFoundException("Patron with ID " + id + " not found");
         }
     }
 
+    @Caching(
+            put = @CachePut(value = "patrons", key = "#result.id"), // Write the new patron through to the cache
+            evict = @CacheEvict(value = "patronQueries", allEntries = true) // Cached lists no longer reflect the patrons table
+    )
     @Transactional
     @Override
     public Patron addPatron(Patron patron) {
         try {
-
             validatePatron(patron);
 
             if (patron.getId() != null) {
                 patron.setId(null);
             }
 
-            if (patronRepository.existsByEmail(patron.getEmail())) {
-                throw new IllegalArgumentException("Patron with email " + patron.getEmail() + " already exists");
-            }
+            ensureEmailNotRegistered(patron.getEmail());
 
-            return patronRepository.save(patron);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException(e.getMessage());
-        } catch (DataAccessException e) {
-            throw new RuntimeException("An error occurred while adding the patron", e);
-        } catch (Exception e) {
-            throw new RuntimeException("An unexpected error occurred", e);
+            Patron savedPatron = patronRepository.save(patron);
+            missingIdService.markPatronPresent(savedPatron.getId());
+            patronEmailService.register(savedPatron.getEmail());
+            return savedPatron;
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent registration won the race past the filter and was stopped by the unique index
+            throw new IllegalArgumentException("Patron with email " + patron.getEmail() + " already exists");
         }
     }
 
+    @Caching(
+            put = @CachePut(value = "patrons", key = "#id"),
+            evict = @CacheEvict(value = "patronQueries", allEntries = true)
+    )
+    @RetryOnConflict // Patrons are versioned now, so a concurrent edit of the same patron is retried on fresh state
     @Transactional
     @Override
     public Patron updatePatron(Long id, Patron patron) {
-        try {
-            if (id == null || id <= 0) {
-                throw new IllegalArgumentException("Patron ID cannot be null or less than or equal to 0");
-            }
-
-            validatePatron(patron);
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException("Patron ID cannot be null or less than or equal to 0");
+        }
 
-            Optional<Patron> existingPatron = patronRepository.findById(id);
+        validatePatron(patron);
 
-            if (existingPatron.isPresent()) {
-                Patron patronToUpdate = existingPatron.get();
+        Optional<Patron> existingPatron = patronRepository.findById(id);
 
-                patronToUpdate.setName(patron.getName());
-                patronToUpdate.setEmail(patron.getEmail());
-                patronToUpdate.setPhone(patron.getPhone());
-                patronToUpdate.setAddress(patron.getAddress());
+        if (existingPatron.isPresent()) {
+            Patron patronToUpdate = existingPatron.get();
 
-                return patronRepository.save(patronToUpdate);
-            } else {
-                throw new PatronNotFoundException("Patron with ID " + id + " not found");
+            if (!patron.getEmail().equals(patronToUpdate.getEmail())) {
+                ensureEmailNotRegistered(patron.getEmail());
+                patronEmailService.register(patron.getEmail());
             }
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException(e.getMessage());
-        } catch (PatronNotFoundException e) {
-            throw new PatronNotFoundException(e.getMessage());
-        } catch (DataAccessException e) {
-            throw new RuntimeException("An error occurred while updating the patron", e);
-        } catch (Exception e) {
-            throw new RuntimeException("An unexpected error occurred", e);
+
+            patronToUpdate.setName(patron.getName());
+            patronToUpdate.setEmail(patron.getEmail());
+            patronToUpdate.setPhone(patron.getPhone());
+            patronToUpdate.setAddress(patron.getAddress());
+
+            return patronRepository.save(patronToUpdate);
+        } else {
+            throw new PatronNotFoundException("Patron with ID " + id + " not found");
         }
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = "patrons", key = "#id"),
+            @CacheEvict(value = "patronQueries", allEntries = true)
+    })
     @Transactional // This annotation is used to indicate that the following method should be executed within a transaction
     @Override
     public boolean deletePatron(Long id) {
-        try {
-            if (id == null || id <= 0) {
-                throw new IllegalArgumentException("Patron ID cannot be null or less than or equal to 0");
-            }
-
-            Optional<Patron> patron = patronRepository.findById(id);
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException("Patron ID cannot be null or less than or equal to 0");
+        }
 
-            if (patron.isEmpty()) {
-                throw new PatronNotFoundException("Patron with ID " + id + " not found");
-            }
+        Optional<Patron> patron = patronRepository.findById(id);
 
-            patronRepository.deleteById(id);
-            return true;
-            } catch (IllegalArgumentException e) {
-                throw new IllegalArgumentException(e.getMessage());
-            } catch (PatronNotFoundException e) {
-                throw new PatronNotFoundException(e.getMessage());
-            } catch (DataAccessException e) {
-                throw new RuntimeException("An error occurred while deleting the patron", e);
-            } catch (Exception e) {
-                throw new RuntimeException("An unexpected error occurred", e);
+        if (patron.isEmpty()) {
+            throw new PatronNotFoundException("Patron with ID " + id + " not found");
         }
 
+        patronRepository.deleteById(id);
+        return true;
+
+    }
+
+    // Most new emails are cleared by the filter alone, only possible duplicates are checked against the unique index
+    private void ensureEmailNotRegistered(String email) {
+        if (patronEmailService.mightBeRegistered(email) && patronRepository.existsByEmail(email)) {
+            throw new IllegalArgumentException("Patron with email " + email + " already exists");
+        }
     }
 
     private void validatePatron(Patron patron) {
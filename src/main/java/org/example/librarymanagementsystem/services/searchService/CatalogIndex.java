@@ -0,0 +1,273 @@
+package org.example.librarymanagementsystem.services.searchService;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index from catalog terms to book IDs.
+// Postings are append-only arrays: a removed or edited book leaves stale entries behind that queries skip, because every
+// hit is checked against the book's current term list. A postings array is compacted once it is mostly stale.
+// Queries take the read lock and can run in parallel; index updates are short and take the write lock.
+final class CatalogIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<Postings> postings = new ArrayList<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private Set<Long> removedDuringWarmUp; // Only tracked while a warm-up runs, whose pages may predate a delete
+
+    // Replaces whatever was indexed for the book with the given term weights
+    void put(long bookId, Map<String, Integer> termWeights) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.get(bookId);
+            Document document = toDocument(termWeights);
+            documents.put(bookId, document);
+
+            for (int termId : document.termIds) {
+                if (previous == null || !previous.contains(termId)) {
+                    postings.get(termId).add(bookId);
+                }
+            }
+
+            if (previous != null) {
+                for (int termId : previous.termIds) {
+                    if (!document.contains(termId)) {
+                        release(termId);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Indexes the book only if no committed write has indexed or removed it since the warm-up began
+    boolean putIfAbsent(long bookId, Map<String, Integer> termWeights) {
+        lock.writeLock().lock();
+        try {
+            if (documents.containsKey(bookId) || (removedDuringWarmUp != null && removedDuringWarmUp.contains(bookId))) {
+                return false;
+            }
+
+            put(bookId, termWeights);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void beginWarmUp() {
+        lock.writeLock().lock();
+        try {
+            removedDuringWarmUp = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void endWarmUp() {
+        lock.writeLock().lock();
+        try {
+            removedDuringWarmUp = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long bookId) {
+        lock.writeLock().lock();
+        try {
+            if (removedDuringWarmUp != null) {
+                removedDuringWarmUp.add(bookId);
+            }
+
+            Document previous = documents.remove(bookId);
+
+            if (previous != null) {
+                for (int termId : previous.termIds) {
+                    release(termId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Books containing every term, best match first. Scores sum the field weight of each term times its BM25-style IDF.
+    List<Long> search(Collection<String> terms, int limit) {
+        lock.readLock().lock();
+        try {
+            int[] queryTermIds = new int[terms.size()];
+            int count = 0;
+
+            for (String term : new LinkedHashSet<>(terms)) {
+                Integer termId = termIds.get(term);
+
+                if (termId == null || postings.get(termId).live == 0) {
+                    return List.of(); // A term nobody uses means no book can match all of them
+                }
+
+                queryTermIds[count++] = termId;
+            }
+
+            if (count == 0) {
+                return List.of();
+            }
+
+            // Walk the rarest term's postings and probe the others, so the cost follows the most selective term
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = queryTermIds[i];
+            }
+            Arrays.sort(order, Comparator.comparingInt(termId -> postings.get(termId).live));
+
+            double total = documents.size();
+            double[] idf = new double[count];
+            for (int i = 0; i < count; i++) {
+                double df = postings.get(order[i]).live;
+                idf[i] = Math.log(1 + (total - df + 0.5) / (df + 0.5));
+            }
+
+            Postings rarest = postings.get(order[0]);
+            Set<Long> seen = rarest.size > rarest.live ? new HashSet<>() : null; // Stale entries may repeat a live book
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, Hit.WORST_FIRST);
+
+            for (int i = 0; i < rarest.size; i++) {
+                long bookId = rarest.ids[i];
+                Document document = documents.get(bookId);
+
+                if (document == null) {
+                    continue;
+                }
+
+                double score = 0;
+                boolean matches = true;
+
+                for (int j = 0; j < count && matches; j++) {
+                    int index = Arrays.binarySearch(document.termIds, order[j]);
+
+                    if (index < 0) {
+                        matches = false;
+                    } else {
+                        score += document.weights[index] * idf[j];
+                    }
+                }
+
+                if (!matches || (seen != null && !seen.add(bookId))) {
+                    continue;
+                }
+
+                top.offer(new Hit(bookId, score));
+
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            Long[] ranked = new Long[top.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = top.poll().bookId;
+            }
+
+            return Arrays.asList(ranked);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Document toDocument(Map<String, Integer> termWeights) {
+        int[][] entries = new int[termWeights.size()][];
+        int i = 0;
+
+        for (Map.Entry<String, Integer> entry : termWeights.entrySet()) {
+            Integer termId = termIds.get(entry.getKey());
+
+            if (termId == null) {
+                termId = postings.size();
+                termIds.put(entry.getKey(), termId);
+                postings.add(new Postings());
+            }
+
+            entries[i++] = new int[]{termId, entry.getValue()};
+        }
+
+        Arrays.sort(entries, Comparator.comparingInt(entry -> entry[0]));
+
+        int[] ids = new int[entries.length];
+        int[] weights = new int[entries.length];
+
+        for (int j = 0; j < entries.length; j++) {
+            ids[j] = entries[j][0];
+            weights[j] = entries[j][1];
+        }
+
+        return new Document(ids, weights);
+    }
+
+    private void release(int termId) {
+        Postings termPostings = postings.get(termId);
+        termPostings.live--;
+
+        if (termPostings.size > 2 * termPostings.live + 8) {
+            compact(termId, termPostings);
+        }
+    }
+
+    private void compact(int termId, Postings termPostings) {
+        Set<Long> kept = new HashSet<>();
+        int size = 0;
+
+        for (int i = 0; i < termPostings.size; i++) {
+            long bookId = termPostings.ids[i];
+            Document document = documents.get(bookId);
+
+            if (document != null && document.contains(termId) && kept.add(bookId)) {
+                termPostings.ids[size++] = bookId;
+            }
+        }
+
+        termPostings.size = size;
+        termPostings.ids = Arrays.copyOf(termPostings.ids, Math.max(4, size));
+    }
+
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+        private int live; // Books that currently contain the term, i.e. size minus stale entries
+
+        private void add(long bookId) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+
+            ids[size++] = bookId;
+            live++;
+        }
+    }
+
+    // Term IDs are sorted so membership is a binary search
+    private record Document(int[] termIds, int[] weights) {
+
+        private boolean contains(int termId) {
+            return Arrays.binarySearch(termIds, termId) >= 0;
+        }
+    }
+
+    private record Hit(long bookId, double score) {
+
+        // Lowest score on top of the heap; on equal scores the higher ID goes first so results are stable
+        private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+                .thenComparing(Comparator.comparingLong(Hit::bookId).reversed());
+    }
+}
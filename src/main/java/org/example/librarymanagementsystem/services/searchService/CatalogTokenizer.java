@@ -0,0 +1,78 @@
+package org.example.librarymanagementsystem.services.searchService;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Splits catalog text into lower-cased, accent-free terms.
+// Hyphenated words such as ISBNs are indexed both as their parts and joined, so "978-0-14" matches "9780140" style
+// queries as well as a search for one of the parts.
+final class CatalogTokenizer {
+
+    private CatalogTokenizer() {
+    }
+
+    static List<String> indexTerms(String text) {
+        List<String> terms = new ArrayList<>();
+
+        for (String word : words(text)) {
+            String[] parts = word.split("-");
+
+            for (String part : parts) {
+                if (!part.isEmpty()) {
+                    terms.add(part);
+                }
+            }
+
+            if (parts.length > 1) {
+                terms.add(word.replace("-", ""));
+            }
+        }
+
+        return terms;
+    }
+
+    static List<String> queryTerms(String query) {
+        List<String> terms = new ArrayList<>();
+
+        for (String word : words(query)) {
+            String joined = word.replace("-", "");
+
+            if (!joined.isEmpty()) {
+                terms.add(joined);
+            }
+        }
+
+        return terms;
+    }
+
+    // Runs of letters, digits and hyphens; everything else separates words
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+
+        if (text == null || text.isEmpty()) {
+            return words;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+
+        int start = -1;
+
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length()
+                    && (Character.isLetterOrDigit(normalized.charAt(i)) || normalized.charAt(i) == '-');
+
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+
+        return words;
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.librarymanagementsystem.services.searchService;
+
+import org.example.librarymanagementsystem.entities.Book;
+
+import java.util.List;
+
+public interface SearchService {
+
+    List<Book> search(String query, int limit);
+    void index(Book book);
+    void remove(Long bookId);
+    int warmUp();
+    boolean isWarmedUp();
+}
@@ -0,0 +1,157 @@
+package org.example.librarymanagementsystem.services.searchService;
+
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.exceptions.bookExceptions.CatalogIndexNotReadyException;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.utilities.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchServiceImpl.class);
+    private static final int WARM_UP_BATCH_SIZE = 10_000;
+
+    public static final int MAX_RESULTS = 100;
+
+    // A match in the ISBN or title says more about the book than one in its genre or publisher
+    private static final int ISBN_WEIGHT = 5;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int GENRE_WEIGHT = 1;
+    private static final int PUBLISHER_WEIGHT = 1;
+
+    private final BookRepository bookRepository;
+    private final CatalogIndex index = new CatalogIndex();
+    private final AtomicBoolean warming = new AtomicBoolean();
+
+    // Search has no database fallback, so until every book has been loaded it refuses rather than return partial hits
+    private volatile boolean warmedUp;
+
+    @Autowired
+    public SearchServiceImpl(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @Override
+    public List<Book> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query cannot be null or empty");
+        }
+
+        if (limit <= 0 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + MAX_RESULTS);
+        }
+
+        if (!warmedUp) {
+            throw new CatalogIndexNotReadyException("Search index is still loading");
+        }
+
+        List<Long> ranked = index.search(CatalogTokenizer.queryTerms(query), limit);
+
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+
+        // One IN query for the page of hits, put back into ranking order; books deleted since the lookup are dropped
+        Map<Long, Book> books = bookRepository.findAllById(ranked).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        return ranked.stream().map(books::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public void index(Book book) {
+        if (book == null || book.getId() == null) {
+            return;
+        }
+
+        // Terms are taken now, the entity may be changed again before the transaction commits
+        long bookId = book.getId();
+        Map<String, Integer> terms = termsOf(book);
+
+        AfterCommit.run(() -> index.put(bookId, terms));
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        if (bookId == null) {
+            return;
+        }
+
+        AfterCommit.run(() -> index.remove(bookId));
+    }
+
+    @Override
+    public int warmUp() {
+        // A retry must not start while the startup warm-up is still loading
+        if (!warming.compareAndSet(false, true)) {
+            return 0;
+        }
+
+        int warmed = 0;
+        index.beginWarmUp();
+
+        try {
+            long afterId = 0;
+            List<Book> page;
+
+            do {
+                page = bookRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(WARM_UP_BATCH_SIZE));
+
+                for (Book book : page) {
+                    // Writes committed after this page was read already hold newer terms, or removed the book
+                    index.putIfAbsent(book.getId(), termsOf(book));
+                    afterId = book.getId();
+                }
+
+                warmed += page.size();
+            } while (page.size() == WARM_UP_BATCH_SIZE);
+
+            warmedUp = true;
+            logger.info("Search index warmed with {} books", warmed);
+        } catch (DataAccessException e) {
+            // Stays cold and keeps answering 503 until StartupWarmUp retries; books already loaded are kept
+            logger.warn("Search index warm-up stopped after {} books: {}", warmed, e.getMessage());
+        } finally {
+            index.endWarmUp();
+            warming.set(false);
+        }
+
+        return warmed;
+    }
+
+    @Override
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+
+    private static Map<String, Integer> termsOf(Book book) {
+        Map<String, Integer> terms = new HashMap<>();
+
+        addTerms(terms, book.getIsbn(), ISBN_WEIGHT);
+        addTerms(terms, book.getTitle(), TITLE_WEIGHT);
+        addTerms(terms, book.getAuthor(), AUTHOR_WEIGHT);
+        addTerms(terms, book.getGenre(), GENRE_WEIGHT);
+        addTerms(terms, book.getPublisher(), PUBLISHER_WEIGHT);
+
+        return terms;
+    }
+
+    // A term repeated within or across fields adds up its weights
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String term : CatalogTokenizer.indexTerms(text)) {
+            terms.merge(term, weight, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.librarymanagementsystem;
+
+import org.example.librarymanagementsystem.aop.RetryOnConflictAspect;
+import org.example.librarymanagementsystem.services.availabilityService.AvailabilityServiceImpl;
+import org.example.librarymanagementsystem.services.bookService.BookServiceImpl;
+import org.example.librarymanagementsystem.services.bookService.CatalogVersion;
+import org.example.librarymanagementsystem.services.borrowingService.BorrowingServiceImpl;
+import org.example.librarymanagementsystem.services.facetService.FacetServiceImpl;
+import org.example.librarymanagementsystem.services.fineService.FinePolicy;
+import org.example.librarymanagementsystem.services.fineService.FineServiceImpl;
+import org.example.librarymanagementsystem.services.holdService.HoldServiceImpl;
+import org.example.librarymanagementsystem.services.missingIdService.MissingIdServiceImpl;
+import org.example.librarymanagementsystem.services.patronEmailService.PatronEmailServiceImpl;
+import org.example.librarymanagementsystem.services.patronService.PatronServiceImpl;
+import org.example.librarymanagementsystem.services.searchService.SearchServiceImpl;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+
+// The real service layer, with its retry aspect, on top of a @DataJpaTest slice. Import it instead of listing the
+// services in each test, so adding a service dependency means touching one place
+@TestConfiguration
+@EnableAspectJAutoProxy
+@Import({BorrowingServiceImpl.class, BookServiceImpl.class, PatronServiceImpl.class, MissingIdServiceImpl.class, CatalogVersion.class,
+        PatronEmailServiceImpl.class, AvailabilityServiceImpl.class, SearchServiceImpl.class, FacetServiceImpl.class, FineServiceImpl.class,
+        FinePolicy.class, HoldServiceImpl.class, RetryOnConflictAspect.class})
+public class ServiceLayerTestConfiguration {
+}
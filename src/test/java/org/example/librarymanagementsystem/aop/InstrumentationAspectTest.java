@@ -0,0 +1,115 @@
+package org.example.librarymanagementsystem.aop;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.exceptions.bookExceptions.BookNotFoundException;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.services.availabilityService.AvailabilityService;
+import org.example.librarymanagementsystem.services.facetService.FacetService;
+import org.example.librarymanagementsystem.services.searchService.SearchService;
+import org.example.librarymanagementsystem.services.bookService.BookService;
+import org.example.librarymanagementsystem.services.bookService.BookServiceImpl;
+import org.example.librarymanagementsystem.services.missingIdService.MissingIdService;
+import org.example.librarymanagementsystem.services.bookService.CatalogVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+public class InstrumentationAspectTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private FacetService facetService;
+
+    @Mock
+    private MissingIdService missingIdService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookService bookService;
+    private ListAppender<ILoggingEvent> logs;
+
+    @BeforeEach
+    public void init() {
+        MockitoAnnotations.openMocks(this); // Initialize the annotated fields
+        meterRegistry = new SimpleMeterRegistry();
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new BookServiceImpl(bookRepository, availabilityService, searchService, facetService, missingIdService, new CatalogVersion()));
+        proxyFactory.addAspect(new InstrumentationAspect(meterRegistry, 0.0, 10));
+        bookService = proxyFactory.getProxy();
+
+        logs = new ListAppender<>();
+        logs.start();
+        ((Logger) LoggerFactory.getLogger(InstrumentationAspect.class)).addAppender(logs);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        ((Logger) LoggerFactory.getLogger(InstrumentationAspect.class)).detachAppender(logs);
+    }
+
+    @Test
+    public void testSuccessfulCallsAreTimed() {
+        // Arrange
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(new Book()));
+
+        // Act
+        bookService.getBookById(1L);
+        bookService.getBookById(1L);
+
+        // Assert
+        assertEquals(2, meterRegistry.get("library.service.calls")
+                .tags("class", "BookServiceImpl", "method", "getBookById", "outcome", "success")
+                .timer().count());
+    }
+
+    @Test
+    public void testFailuresAreCountedByExceptionType() {
+        // Act
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBookById(-1L));
+
+        // Assert
+        assertEquals(1, meterRegistry.get("library.service.calls").tags("method", "getBookById", "outcome", "error").timer().count());
+        assertEquals(1.0, meterRegistry.get("library.service.errors")
+                .tags("method", "getBookById", "exception", "IllegalArgumentException")
+                .counter().count());
+    }
+
+    @Test
+    public void testOnlyUnexpectedFailuresAreLoggedAtError() {
+        // Arrange
+        when(missingIdService.isBookMissing(2L)).thenReturn(true);
+        when(bookRepository.findById(3L)).thenThrow(new QueryTimeoutException("timeout"));
+
+        // Act
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBookById(-1L));
+        assertThrows(BookNotFoundException.class, () -> bookService.getBookById(2L));
+        assertThrows(QueryTimeoutException.class, () -> bookService.getBookById(3L));
+
+        // Assert: every failure is counted, only the unexpected one is logged at ERROR
+        assertEquals(3, meterRegistry.get("library.service.calls").tags("method", "getBookById", "outcome", "error").timer().count());
+        assertEquals(1, logs.list.stream().filter(event -> event.getLevel() == Level.ERROR).count());
+    }
+}
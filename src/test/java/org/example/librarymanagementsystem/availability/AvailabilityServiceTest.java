@@ -0,0 +1,98 @@
+package org.example.librarymanagementsystem.availability;
+
+import org.example.librarymanagementsystem.dto.BookAvailability;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.services.availabilityService.AvailabilityServiceImpl;
+import org.example.librarymanagementsystem.services.availabilityService.AvailabilityStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+public class AvailabilityServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @InjectMocks
+    private AvailabilityServiceImpl availabilityService;
+
+    @BeforeEach
+    public void init() {
+        MockitoAnnotations.openMocks(this); // Initialize the annotated fields
+    }
+
+    @Test
+    public void testWarmUpLoadsStateFromRepository() {
+        // Arrange
+        when(bookRepository.findAvailabilityAfter(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(new BookAvailability(1L, true), new BookAvailability(70000L, false)));
+
+        // Act
+        int warmed = availabilityService.warmUp();
+
+        // Assert
+        assertEquals(2, warmed);
+        assertEquals(AvailabilityStatus.AVAILABLE, availabilityService.getStatus(1L));
+        assertEquals(AvailabilityStatus.UNAVAILABLE, availabilityService.getStatus(70000L));
+        assertEquals(AvailabilityStatus.UNKNOWN, availabilityService.getStatus(2L));
+    }
+
+    @Test
+    public void testBorrowAndReturnTransitions() {
+        // Arrange
+        availabilityService.prime(5L, true);
+
+        // Act & Assert
+        assertTrue(availabilityService.tryBorrow(5L));
+        assertFalse(availabilityService.tryBorrow(5L));
+        assertEquals(AvailabilityStatus.UNAVAILABLE, availabilityService.getStatus(5L));
+
+        availabilityService.markReturned(5L);
+        assertEquals(AvailabilityStatus.AVAILABLE, availabilityService.getStatus(5L));
+
+        availabilityService.prime(5L, false); // Already known, priming must not overwrite
+        assertEquals(AvailabilityStatus.AVAILABLE, availabilityService.getStatus(5L));
+    }
+
+    @Test
+    public void testConcurrentBorrowsClaimOnlyOnce() throws InterruptedException {
+        // Arrange
+        int threads = 16;
+        availabilityService.prime(9L, true);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                if (availabilityService.tryBorrow(9L)) {
+                    winners.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(1, winners.get());
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.librarymanagementsystem.book;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.librarymanagementsystem.dto.BookImportResult;
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.services.availabilityService.AvailabilityService;
+import org.example.librarymanagementsystem.services.facetService.FacetService;
+import org.example.librarymanagementsystem.services.searchService.SearchService;
+import org.example.librarymanagementsystem.services.bookService.BookImportFormat;
+import org.example.librarymanagementsystem.services.bookService.BookImportServiceImpl;
+import org.example.librarymanagementsystem.services.missingIdService.MissingIdService;
+import org.example.librarymanagementsystem.services.bookService.CatalogVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class BookImportServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private FacetService facetService;
+
+    @Mock
+    private MissingIdService missingIdService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookImportServiceImpl bookImportService;
+
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    @BeforeEach
+    public void init() {
+        MockitoAnnotations.openMocks(this); // Initialize the annotated fields
+        bookImportService = new BookImportServiceImpl(bookRepository, availabilityService, searchService, facetService, missingIdService, new CatalogVersion(), transactionManager, new ObjectMapper(), 2);
+
+        AtomicLong ids = new AtomicLong();
+        when(bookRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            batchSizes.add(books.size());
+            books.forEach(book -> book.setId(ids.incrementAndGet()));
+            return List.copyOf(books);
+        });
+    }
+
+    @Test
+    public void testCsvImportInsertsValidRowsInBatches() {
+        // Arrange
+        String csv = """
+                title,author,publication_year,isbn,genre,publisher,pages
+                "Dune, Part One",Herbert,1965,111,SF,Chilton,412
+                Emma,Austen,1815,222,Novel,Murray,474
+                ,Nobody,2000,333,None,None,10
+                Ulysses,Joyce,1922,444,Novel,Shakespeare,730
+                Broken,Someone,notayear,555,None,None,10
+                """;
+
+        // Act
+        BookImportResult result = bookImportService.importBooks(stream(csv), BookImportFormat.CSV, "csv-import");
+
+        // Assert
+        assertEquals(BookImportResult.Status.COMPLETED, result.status());
+        assertEquals(5, result.processed());
+        assertEquals(3, result.imported());
+        assertEquals(2, result.rejected());
+        assertEquals(List.of(2, 1), batchSizes);
+        assertTrue(result.errors().get(0).startsWith("Line 4"));
+        verify(availabilityService, times(3)).put(anyLong(), eq(true));
+        assertEquals(result, bookImportService.getImportProgress("csv-import").get());
+    }
+
+    @Test
+    public void testNdjsonImport() {
+        // Arrange
+        String ndjson = """
+                {"title":"Emma","author":"Austen","publicationYear":1815,"pages":474}
+                {"title":"Broken"
+                {"title":"Ulysses","author":"Joyce","publicationYear":1922,"pages":730}
+                """;
+
+        // Act
+        BookImportResult result = bookImportService.importBooks(stream(ndjson), BookImportFormat.NDJSON, null);
+
+        // Assert
+        assertEquals(2, result.imported());
+        assertEquals(1, result.rejected());
+        assertNotNull(result.importId());
+    }
+
+    @Test
+    public void testCsvWithoutTitleColumnFails() {
+        // Act
+        BookImportResult result = bookImportService.importBooks(stream("name,pages\nEmma,474\n"), BookImportFormat.CSV, null);
+
+        // Assert
+        assertEquals(BookImportResult.Status.FAILED, result.status());
+        assertEquals(0, result.imported());
+        verify(bookRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void testImportIdCannotBeReused() {
+        // Arrange
+        bookImportService.importBooks(stream("title,publication_year,pages\nEmma,1815,474\n"), BookImportFormat.CSV, "once");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> bookImportService.importBooks(stream("title,publication_year,pages\nUlysses,1922,730\n"), BookImportFormat.CSV, "once"));
+        assertEquals(List.of(1), batchSizes);
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
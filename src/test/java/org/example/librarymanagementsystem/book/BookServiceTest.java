@@ -2,17 +2,25 @@ package org.example.librarymanagementsystem.book;
 
 import org.example.librarymanagementsystem.entities.Book;
 import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.services.availabilityService.AvailabilityService;
+import org.example.librarymanagementsystem.services.facetService.FacetService;
+import org.example.librarymanagementsystem.services.searchService.SearchService;
 import org.example.librarymanagementsystem.services.bookService.BookServiceImpl;
+import org.example.librarymanagementsystem.services.missingIdService.MissingIdService;
+import org.example.librarymanagementsystem.services.bookService.CatalogVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 
+import java.time.Year;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -21,6 +29,21 @@ public class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private FacetService facetService;
+
+    @Mock
+    private MissingIdService missingIdService;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
     @InjectMocks
     private BookServiceImpl bookServiceImpl;
 
@@ -46,6 +69,28 @@ public class BookServiceTest {
         verify(bookRepository, times(1)).findAll();
     }
 
+    @Test
+    public void testGetBooksPage() {
+        // Arrange
+        Book book = new Book();
+        book.setId(11L);
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(5))).thenReturn(List.of(book));
+
+        // Act
+        List<Book> books = bookServiceImpl.getBooksPage(10L, 5);
+
+        // Assert
+        assertEquals(1, books.size());
+        verify(bookRepository, times(1)).findByIdGreaterThanOrderByIdAsc(10L, Limit.of(5));
+        verify(bookRepository, never()).findAll();
+    }
+
+    @Test
+    public void testGetBooksPageRejectsOversizedPage() {
+        assertThrows(IllegalArgumentException.class, () -> bookServiceImpl.getBooksPage(0L, BookServiceImpl.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(bookRepository);
+    }
+
     @Test
     public void testGetBookById() {
         // Arrange
@@ -117,6 +162,20 @@ public class BookServiceTest {
         // Assert
         verify(bookRepository, times(1)).findById(1L);
         verify(bookRepository, times(1)).deleteById(1L);
+        verify(availabilityService, times(1)).remove(1L);
+    }
+
+    @Test
+    public void testAddBookRejectsFuturePublicationYear() {
+        // Arrange
+        Book book = new Book();
+        book.setTitle("Book Title");
+        book.setPublicationYear(Year.now().getValue() + 2);
+        book.setPages(100);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> bookServiceImpl.addBook(book));
+        verify(bookRepository, never()).save(any(Book.class));
     }
 
 
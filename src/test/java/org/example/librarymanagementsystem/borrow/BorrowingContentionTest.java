@@ -0,0 +1,178 @@
+package org.example.librarymanagementsystem.borrow;
+
+import org.example.librarymanagementsystem.ServiceLayerTestConfiguration;
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.entities.Patron;
+import org.example.librarymanagementsystem.exceptions.bookExceptions.NotAvailableBookException;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.repositories.BorrowingRepository;
+import org.example.librarymanagementsystem.repositories.PatronRepository;
+import org.example.librarymanagementsystem.services.borrowingService.BorrowingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs concurrent checkouts against an embedded database; test methods are not transactional so each thread commits
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ServiceLayerTestConfiguration.class)
+public class BorrowingContentionTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PatronRepository patronRepository;
+
+    @Autowired
+    private BorrowingRepository borrowingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void cleanUp() {
+        borrowingRepository.deleteAll();
+        bookRepository.deleteAll();
+        patronRepository.deleteAll();
+    }
+
+    @Test
+    public void testConcurrentBorrowsOfOneCopyProduceOneLoan() throws Exception {
+        // Arrange
+        Long bookId = saveAvailableBook();
+        List<Long> patronIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            patronIds.add(savePatron(i));
+        }
+        AtomicInteger borrowed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // Act
+        runConcurrently(i -> {
+            try {
+                borrowingService.borrowBook(bookId, patronIds.get(i), LocalDate.now().plusDays(7));
+                borrowed.incrementAndGet();
+            } catch (NotAvailableBookException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        // Assert
+        assertEquals(1, borrowed.get());
+        assertEquals(THREADS - 1, rejected.get());
+        assertEquals(1, borrowingRepository.count());
+        assertFalse(bookRepository.findById(bookId).get().isAvailable());
+    }
+
+    @Test
+    public void testConditionalClaimHasSingleWinnerWithoutIndex() throws Exception {
+        // Arrange
+        Long bookId = saveAvailableBook();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger winners = new AtomicInteger();
+
+        // Act: go straight to the database, as a second application instance with its own index would
+        runConcurrently(i -> {
+            Integer updated = transactionTemplate.execute(status -> bookRepository.claimAvailable(bookId));
+            if (updated != null && updated == 1) {
+                winners.incrementAndGet();
+            }
+        });
+
+        // Assert
+        Book book = bookRepository.findById(bookId).get();
+        assertEquals(1, winners.get());
+        assertFalse(book.isAvailable());
+        assertEquals(1L, book.getVersion());
+    }
+
+    @Test
+    public void testSamePatronCanBorrowAndReturnABookRepeatedly() {
+        // Arrange
+        Long bookId = saveAvailableBook();
+        Long patronId = savePatron(0);
+        Book saved = bookRepository.findById(bookId).get();
+
+        // Act: every round adds a returned row to the pair's history
+        for (int round = 0; round < 3; round++) {
+            borrowingService.borrowBook(bookId, patronId, LocalDate.now().plusDays(7));
+            assertTrue(borrowingService.returnBook(bookId, patronId));
+        }
+
+        // Assert
+        assertEquals(3, borrowingRepository.count());
+        assertTrue(borrowingRepository.findOpenByBookIdAndPatronId(bookId, patronId).isEmpty());
+        Book book = bookRepository.findById(bookId).get();
+        assertTrue(book.isAvailable());
+
+        // The conditional updates bump the version and timestamp that feed the book's ETag and Last-Modified
+        assertEquals(saved.getVersion() + 6, book.getVersion());
+        assertFalse(book.getUpdatedAt().isBefore(saved.getUpdatedAt()));
+    }
+
+    private void runConcurrently(IntConsumerWithException task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.accept(index);
+                return null;
+            }));
+        }
+
+        start.countDown();
+
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS); // Surfaces any unexpected exception from the workers
+        }
+
+        executor.shutdown();
+    }
+
+    private Long saveAvailableBook() {
+        Book book = new Book();
+        book.setTitle("Contended");
+        book.setPublicationYear(2020);
+        book.setPages(100);
+        book.setAvailable(true);
+        return bookRepository.save(book).getId();
+    }
+
+    private Long savePatron(int i) {
+        Patron patron = new Patron();
+        patron.setName("Patron " + i);
+        patron.setEmail("patron" + i + "@example.org");
+        patron.setPhone("555-" + i);
+        patron.setAddress("Street " + i);
+        return patronRepository.save(patron).getId();
+    }
+
+    @FunctionalInterface
+    private interface IntConsumerWithException {
+        void accept(int value) throws Exception;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.librarymanagementsystem.borrow;
+
+import org.example.librarymanagementsystem.dto.BorrowingResponse;
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.entities.Borrowing;
+import org.example.librarymanagementsystem.entities.Patron;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.repositories.BorrowingRepository;
+import org.example.librarymanagementsystem.repositories.PatronRepository;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class BorrowingResponseTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PatronRepository patronRepository;
+
+    @Autowired
+    private BorrowingRepository borrowingRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    public void testResponseDoesNotInitializeLazyAssociations() {
+        // Arrange
+        Book book = new Book();
+        book.setTitle("Lazy");
+        book.setPublicationYear(2020);
+        book.setPages(100);
+        book = bookRepository.save(book);
+
+        Patron patron = new Patron();
+        patron.setName("Patron");
+        patron.setEmail("patron@example.org");
+        patron = patronRepository.save(patron);
+
+        Borrowing borrowing = new Borrowing();
+        borrowing.setBook(book);
+        borrowing.setPatron(patron);
+        borrowing.setBorrowingDate(LocalDate.now());
+        borrowing.setReturnDate(LocalDate.now().plusDays(14));
+        Long borrowingId = borrowingRepository.save(borrowing).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        Borrowing loaded = borrowingRepository.findById(borrowingId).orElseThrow();
+
+        // Act
+        BorrowingResponse response = BorrowingResponse.from(loaded);
+
+        // Assert
+        assertEquals(book.getId(), response.bookId());
+        assertEquals(patron.getId(), response.patronId());
+        assertFalse(Hibernate.isInitialized(loaded.getBook()));
+        assertFalse(Hibernate.isInitialized(loaded.getPatron()));
+    }
+}
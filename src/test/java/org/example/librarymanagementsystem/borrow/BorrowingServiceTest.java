@@ -1,24 +1,45 @@
 package org.example.librarymanagementsystem.borrow;
 
+import org.example.librarymanagementsystem.dto.BorrowingRequest;
+import org.example.librarymanagementsystem.dto.BorrowingResult;
+import org.example.librarymanagementsystem.dto.HoldEntry;
 import org.example.librarymanagementsystem.entities.Book;
 import org.example.librarymanagementsystem.entities.Borrowing;
 import org.example.librarymanagementsystem.entities.Patron;
+import org.example.librarymanagementsystem.exceptions.bookExceptions.NotAvailableBookException;
+import org.example.librarymanagementsystem.exceptions.borrowingsExceptions.AlreadyReturnedBookException;
+import org.example.librarymanagementsystem.exceptions.borrowingsExceptions.BorrowingNotFoundException;
+import org.example.librarymanagementsystem.repositories.BookRepository;
 import org.example.librarymanagementsystem.repositories.BorrowingRepository;
+import org.example.librarymanagementsystem.repositories.PatronRepository;
+import org.example.librarymanagementsystem.services.availabilityService.AvailabilityService;
+import org.example.librarymanagementsystem.services.facetService.FacetService;
+import org.example.librarymanagementsystem.services.fineService.FineService;
+import org.example.librarymanagementsystem.services.holdService.HoldService;
+import org.example.librarymanagementsystem.services.availabilityService.AvailabilityStatus;
 import org.example.librarymanagementsystem.services.bookService.BookService;
 import org.example.librarymanagementsystem.services.borrowingService.BorrowingServiceImpl;
 import org.example.librarymanagementsystem.services.patronService.PatronService;
+import org.example.librarymanagementsystem.services.bookService.CatalogVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 public class BorrowingServiceTest {
@@ -26,12 +47,33 @@ public class BorrowingServiceTest {
     @Mock
     private BorrowingRepository borrowingRepository;
 
+    @Mock
+    private BookRepository bookRepository;
+
     @Mock
     private BookService bookService;
 
+    @Mock
+    private PatronRepository patronRepository;
+
     @Mock
     private PatronService patronService;
 
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private FacetService facetService;
+
+    @Mock
+    private FineService fineService;
+
+    @Mock
+    private HoldService holdService;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
     @InjectMocks
     private BorrowingServiceImpl borrowingServiceImpl;
 
@@ -49,6 +91,7 @@ public class BorrowingServiceTest {
 
         Book book = new Book();
         book.setId(bookId);
+        book.setAvailable(true);
 
         Patron patron = new Patron();
         patron.setId(patronId);
@@ -60,6 +103,9 @@ public class BorrowingServiceTest {
         borrowing.setReturnDate(returnDate);
         borrowing.setReturned(false);
 
+        when(availabilityService.getStatus(bookId)).thenReturn(AvailabilityStatus.UNKNOWN);
+        when(availabilityService.tryBorrow(bookId)).thenReturn(true);
+        when(bookRepository.claimAvailable(bookId)).thenReturn(1);
         when(bookService.getBookById(bookId)).thenReturn(Optional.of(book));
         when(patronService.getPatronById(patronId)).thenReturn(Optional.of(patron));
         when(borrowingRepository.save(any(Borrowing.class))).thenReturn(borrowing);
@@ -72,6 +118,52 @@ public class BorrowingServiceTest {
         verify(bookService, times(1)).getBookById(bookId);
         verify(patronService, times(1)).getPatronById(patronId);
         verify(borrowingRepository, times(1)).save(any(Borrowing.class));
+        verify(availabilityService, times(1)).prime(bookId, true);
+        verify(bookRepository, times(1)).claimAvailable(bookId);
+    }
+
+    @Test
+    public void testBorrowUnavailableBookIsRejectedFromIndex() {
+        // Arrange
+        when(availabilityService.getStatus(1L)).thenReturn(AvailabilityStatus.UNAVAILABLE);
+
+        // Act & Assert
+        assertThrows(NotAvailableBookException.class, () -> borrowingServiceImpl.borrowBook(1L, 1L, LocalDate.now().plusDays(10)));
+        verifyNoInteractions(bookService, patronService, borrowingRepository, bookRepository);
+    }
+
+    @Test
+    public void testBorrowBookLosingTheClaimIsRejected() {
+        // Arrange
+        Book book = new Book();
+        book.setId(1L);
+        book.setAvailable(true);
+        when(availabilityService.getStatus(1L)).thenReturn(AvailabilityStatus.AVAILABLE);
+        when(availabilityService.tryBorrow(1L)).thenReturn(false);
+        when(bookService.getBookById(1L)).thenReturn(Optional.of(book));
+        when(patronService.getPatronById(1L)).thenReturn(Optional.of(new Patron()));
+
+        // Act & Assert
+        assertThrows(NotAvailableBookException.class, () -> borrowingServiceImpl.borrowBook(1L, 1L, LocalDate.now().plusDays(10)));
+        verify(borrowingRepository, never()).save(any(Borrowing.class));
+    }
+
+    @Test
+    public void testBorrowBookRejectedByDatabaseForgetsIndexEntry() {
+        // Arrange
+        Book book = new Book();
+        book.setId(1L);
+        book.setAvailable(true);
+        when(availabilityService.getStatus(1L)).thenReturn(AvailabilityStatus.AVAILABLE);
+        when(availabilityService.tryBorrow(1L)).thenReturn(true);
+        when(bookRepository.claimAvailable(1L)).thenReturn(0); // Another instance borrowed it first
+        when(bookService.getBookById(1L)).thenReturn(Optional.of(book));
+        when(patronService.getPatronById(1L)).thenReturn(Optional.of(new Patron()));
+
+        // Act & Assert
+        assertThrows(NotAvailableBookException.class, () -> borrowingServiceImpl.borrowBook(1L, 1L, LocalDate.now().plusDays(10)));
+        verify(availabilityService, times(1)).forget(1L);
+        verify(borrowingRepository, never()).save(any(Borrowing.class));
     }
 
     @Test
@@ -83,17 +175,148 @@ public class BorrowingServiceTest {
         Borrowing borrowing = new Borrowing();
         borrowing.setBook(new Book());
         borrowing.setPatron(new Patron());
+        borrowing.setReturnDate(LocalDate.now().minusDays(3));
         borrowing.setReturned(false);
 
-        when(borrowingRepository.findByBookIdAndPatronId(bookId, patronId)).thenReturn(Optional.of(borrowing));
+        when(borrowingRepository.findOpenByBookIdAndPatronId(bookId, patronId)).thenReturn(Optional.of(borrowing));
+        when(fineService.fineOnReturn(borrowing.getReturnDate())).thenReturn(new BigDecimal("0.75"));
 
         // Act
         boolean isReturned = borrowingServiceImpl.returnBook(bookId, patronId);
 
         // Assert
         assertTrue(isReturned);
-        verify(borrowingRepository, times(1)).findByBookIdAndPatronId(bookId, patronId);
+        assertEquals(new BigDecimal("0.75"), borrowing.getFine());
+        verify(borrowingRepository, times(1)).findOpenByBookIdAndPatronId(bookId, patronId);
         verify(borrowingRepository, times(1)).save(any(Borrowing.class));
+        verify(bookRepository, times(1)).releaseAvailable(bookId);
+        verify(availabilityService, times(1)).markReturned(bookId);
+    }
+
+    @Test
+    public void testReturnBookLendsCopyToNextHolder() {
+        // Arrange
+        Book book = new Book();
+        book.setId(1L);
+        Borrowing borrowing = new Borrowing();
+        borrowing.setBook(book);
+        borrowing.setPatron(new Patron());
+        borrowing.setReturnDate(LocalDate.now());
+        borrowing.setReturned(false);
+        Patron holder = new Patron();
+        holder.setId(2L);
+
+        when(borrowingRepository.findOpenByBookIdAndPatronId(1L, 1L)).thenReturn(Optional.of(borrowing));
+        when(holdService.claimNext(1L)).thenReturn(Optional.of(new HoldEntry(50L, 1L, 2L)));
+        when(patronRepository.getReferenceById(2L)).thenReturn(holder);
+
+        // Act
+        boolean isReturned = borrowingServiceImpl.returnBook(1L, 1L);
+
+        // Assert
+        assertTrue(isReturned);
+        verify(borrowingRepository, times(1)).save(argThat(loan -> loan.getPatron() == holder && !loan.isReturned()
+                && loan.getReturnDate().equals(LocalDate.now().plusDays(BorrowingServiceImpl.LOAN_DAYS))));
+        verify(bookRepository, never()).releaseAvailable(anyLong());
+        verify(availabilityService, never()).markReturned(anyLong());
+    }
+
+    @Test
+    public void testReturnAlreadyReturnedBook() {
+        // Arrange
+        when(borrowingRepository.findOpenByBookIdAndPatronId(1L, 1L)).thenReturn(Optional.empty());
+        when(borrowingRepository.existsByBookIdAndPatronId(1L, 1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(AlreadyReturnedBookException.class, () -> borrowingServiceImpl.returnBook(1L, 1L));
+        verify(borrowingRepository, never()).save(any(Borrowing.class));
+    }
+
+    @Test
+    public void testReturnBookNeverBorrowedByPatron() {
+        // Arrange
+        when(borrowingRepository.findOpenByBookIdAndPatronId(1L, 1L)).thenReturn(Optional.empty());
+        when(borrowingRepository.existsByBookIdAndPatronId(1L, 1L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(BorrowingNotFoundException.class, () -> borrowingServiceImpl.returnBook(1L, 1L));
+        verify(borrowingRepository, never()).save(any(Borrowing.class));
+    }
+
+    @Test
+    public void testBorrowBooksValidatesInBulkAndReportsPerItem() {
+        // Arrange
+        Book available = new Book();
+        available.setId(1L);
+        available.setAvailable(true);
+        Book borrowed = new Book();
+        borrowed.setId(2L);
+        Patron patron = new Patron();
+        patron.setId(10L);
+
+        List<BorrowingRequest> requests = List.of(
+                new BorrowingRequest(1L, 10L),
+                new BorrowingRequest(2L, 10L),
+                new BorrowingRequest(3L, 10L),
+                new BorrowingRequest(1L, 11L));
+
+        when(bookRepository.findAllById(anyCollection())).thenReturn(List.of(available, borrowed));
+        when(patronRepository.findAllById(anyCollection())).thenReturn(List.of(patron));
+        when(availabilityService.getStatus(1L)).thenReturn(AvailabilityStatus.AVAILABLE);
+        when(availabilityService.getStatus(2L)).thenReturn(AvailabilityStatus.UNAVAILABLE);
+        when(availabilityService.tryBorrow(1L)).thenReturn(true);
+        when(bookRepository.claimAvailable(1L)).thenReturn(1);
+        when(borrowingRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Borrowing> borrowings = invocation.getArgument(0);
+            borrowings.forEach(b -> b.setId(100L));
+            return borrowings;
+        });
+
+        // Act
+        List<BorrowingResult> results = borrowingServiceImpl.borrowBooks(requests, LocalDate.now().plusDays(14));
+
+        // Assert
+        assertEquals(BorrowingResult.Status.BORROWED, results.get(0).status());
+        assertEquals(100L, results.get(0).borrowingId());
+        assertEquals(BorrowingResult.Status.NOT_AVAILABLE, results.get(1).status());
+        assertEquals(BorrowingResult.Status.BOOK_NOT_FOUND, results.get(2).status());
+        assertEquals(BorrowingResult.Status.PATRON_NOT_FOUND, results.get(3).status());
+        verify(bookRepository, times(1)).findAllById(anyCollection());
+        verify(patronRepository, times(1)).findAllById(anyCollection());
+        verify(borrowingRepository, times(1)).saveAll(anyList());
+        verifyNoInteractions(bookService, patronService);
     }
 
+    @Test
+    public void testReturnBooksMatchesOpenLoansInOneQuery() {
+        // Arrange
+        Book book = new Book();
+        book.setId(1L);
+        Patron patron = new Patron();
+        patron.setId(10L);
+        Borrowing borrowing = new Borrowing();
+        borrowing.setId(100L);
+        borrowing.setBook(book);
+        borrowing.setPatron(patron);
+
+        when(borrowingRepository.findOpenByBookIds(anyCollection())).thenReturn(List.of(borrowing));
+
+        // Act
+        List<BorrowingResult> results = borrowingServiceImpl.returnBooks(List.of(new BorrowingRequest(1L, 10L), new BorrowingRequest(1L, 11L)));
+
+        // Assert
+        assertEquals(BorrowingResult.Status.RETURNED, results.get(0).status());
+        assertEquals(BorrowingResult.Status.NOT_BORROWED, results.get(1).status());
+        assertTrue(borrowing.isReturned());
+        verify(bookRepository, times(1)).releaseAllAvailable(Set.of(1L));
+        verify(availabilityService, times(1)).markReturned(1L);
+    }
+
+    @Test
+    public void testBatchRejectsOversizedBatch() {
+        List<BorrowingRequest> requests = Collections.nCopies(BorrowingServiceImpl.MAX_BATCH_SIZE + 1, new BorrowingRequest(1L, 1L));
+
+        assertThrows(IllegalArgumentException.class, () -> borrowingServiceImpl.borrowBooks(requests, LocalDate.now().plusDays(14)));
+        verifyNoInteractions(bookRepository, patronRepository, borrowingRepository);
+    }
 }
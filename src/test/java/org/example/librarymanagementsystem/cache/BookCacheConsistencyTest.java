@@ -0,0 +1,138 @@
+package org.example.librarymanagementsystem.cache;
+
+import org.example.librarymanagementsystem.config.CacheConfig;
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.repositories.PatronRepository;
+import org.example.librarymanagementsystem.services.availabilityService.AvailabilityService;
+import org.example.librarymanagementsystem.services.facetService.FacetService;
+import org.example.librarymanagementsystem.services.searchService.SearchService;
+import org.example.librarymanagementsystem.services.bookService.BookService;
+import org.example.librarymanagementsystem.services.bookService.BookServiceImpl;
+import org.example.librarymanagementsystem.services.missingIdService.MissingIdService;
+import org.example.librarymanagementsystem.services.bookService.CatalogVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(BookCacheConsistencyTest.TestConfig.class)
+public class BookCacheConsistencyTest {
+
+    @Configuration
+    @EnableCaching
+    @Import({CacheConfig.class, BookServiceImpl.class, CatalogVersion.class})
+    static class TestConfig {
+    }
+
+    @MockBean
+    private BookRepository bookRepository;
+
+    @MockBean
+    private PatronRepository patronRepository;
+
+    @MockBean
+    private AvailabilityService availabilityService;
+
+    @MockBean
+    private SearchService searchService;
+
+    @MockBean
+    private FacetService facetService;
+
+    @MockBean
+    private MissingIdService missingIdService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    public void testUpdateWritesThroughAndEvictsList() {
+        // Arrange
+        Book original = book(1L, "Original");
+        Book updated = book(1L, "Updated");
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(original));
+        when(bookRepository.findAll()).thenReturn(List.of(original));
+        when(bookRepository.save(any(Book.class))).thenReturn(updated);
+        bookService.getAllBooks();
+
+        // Act
+        bookService.updateBook(1L, updated);
+        Optional<Book> cached = bookService.getBookById(1L);
+        bookService.getAllBooks();
+
+        // Assert
+        assertEquals("Updated", cached.get().getTitle());
+        verify(bookRepository, times(2)).findAll(); // The list entry was evicted by the update
+    }
+
+    @Test
+    public void testDeleteEvictsEntity() {
+        // Arrange
+        Book book = book(2L, "Doomed");
+        when(bookRepository.findById(2L)).thenReturn(Optional.of(book));
+        bookService.getBookById(2L);
+
+        // Act
+        bookService.deleteBook(2L);
+        when(bookRepository.findById(2L)).thenReturn(Optional.empty());
+
+        // Assert
+        assertThrows(RuntimeException.class, () -> bookService.getBookById(2L));
+    }
+
+    @Test
+    public void testListsAreCachedApartFromEntities() {
+        // Arrange
+        Book book = book(3L, "Listed");
+        when(bookRepository.findAll()).thenReturn(List.of(book));
+
+        // Act
+        bookService.getAllBooks();
+
+        // Assert
+        assertNull(cacheManager.getCache(CacheConfig.BOOKS_CACHE).get("all"));
+        assertNotNull(cacheManager.getCache(CacheConfig.BOOK_QUERIES_CACHE).get("all"));
+    }
+
+    @Test
+    public void testPagesAreCachedByNormalizedParameters() {
+        // Arrange
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(List.of(book(4L, "Paged")));
+
+        // Act
+        bookService.getBooksPage(null, 20);
+        bookService.getBooksPage(0L, 20);
+
+        // Assert
+        verify(bookRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class));
+    }
+
+    private Book book(Long id, String title) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setPublicationYear(2020);
+        book.setPages(10);
+        return book;
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.librarymanagementsystem.cache;
+
+import org.example.librarymanagementsystem.config.CacheConfig;
+import org.example.librarymanagementsystem.config.CacheProperties;
+import org.example.librarymanagementsystem.entities.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.Cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheConfigTest {
+
+    private CacheProperties cacheProperties;
+
+    @BeforeEach
+    public void init() {
+        cacheProperties = new CacheProperties();
+        cacheProperties.getSpecs().put(CacheConfig.BOOKS_CACHE, "maximumSize=2,recordStats");
+    }
+
+    @Test
+    public void testBooksCacheNeverLoadsByItselfAndRecordsStats() {
+        // Arrange
+        Book book = new Book();
+        book.setId(1L);
+        CacheManager cacheManager = new CacheConfig().cacheManager(cacheProperties);
+        Cache books = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+
+        // Act: a miss is left to the @Cacheable method, which then puts its result
+        Cache.ValueWrapper miss = books.get(1L);
+        books.put(1L, book);
+        Object hit = books.get(1L).get();
+
+        // Assert
+        assertNull(miss);
+        assertSame(book, hit);
+        assertEquals(1, ((com.github.benmanes.caffeine.cache.Cache<?, ?>) books.getNativeCache()).stats().hitCount());
+    }
+
+    @Test
+    public void testBooksCacheIsBounded() {
+        // Arrange
+        CacheManager cacheManager = new CacheConfig().cacheManager(cacheProperties);
+        Cache books = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+
+        // Act
+        for (long id = 1; id <= 100; id++) {
+            books.put(id, new Book()); // Not inside a transaction, so the put is applied immediately
+        }
+        com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache = (com.github.benmanes.caffeine.cache.Cache<?, ?>) books.getNativeCache();
+        nativeCache.cleanUp();
+
+        // Assert
+        assertTrue(nativeCache.estimatedSize() <= 2);
+    }
+
+    @Test
+    public void testUnknownCachesUseBoundedDefaultSpec() {
+        // Arrange
+        CacheManager cacheManager = new CacheConfig().cacheManager(cacheProperties);
+
+        // Act
+        Cache other = cacheManager.getCache("other");
+
+        // Assert
+        assertNotNull(other);
+        assertTrue(((com.github.benmanes.caffeine.cache.Cache<?, ?>) other.getNativeCache()).policy().eviction().isPresent());
+    }
+}
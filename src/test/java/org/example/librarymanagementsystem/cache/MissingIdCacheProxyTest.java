@@ -0,0 +1,87 @@
+package org.example.librarymanagementsystem.cache;
+
+import org.example.librarymanagementsystem.exceptions.Patron.PatronNotFoundException;
+import org.example.librarymanagementsystem.exceptions.bookExceptions.BookNotFoundException;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.repositories.PatronRepository;
+import org.example.librarymanagementsystem.services.bookService.BookService;
+import org.example.librarymanagementsystem.services.patronService.PatronService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+// Goes through the @Cacheable proxies and the real cache manager, which the unit tests of MissingIdService bypass
+@SpringBootTest
+public class MissingIdCacheProxyTest {
+
+    private static final int DISTINCT_IDS = 20;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private PatronService patronService;
+
+    @SpyBean
+    private BookRepository bookRepository;
+
+    @SpyBean
+    private PatronRepository patronRepository;
+
+    @BeforeEach
+    public void init() {
+        clearInvocations(bookRepository, patronRepository);
+    }
+
+    @Test
+    public void testRepeatedMissingBookIdsReachTheRepositoryAtMostOnceEach() {
+        // Act
+        for (int round = 0; round < ROUNDS; round++) {
+            for (long id = 1_000_001; id <= 1_000_000 + DISTINCT_IDS; id++) {
+                long missingId = id;
+                assertThrows(BookNotFoundException.class, () -> bookService.getBookById(missingId));
+            }
+        }
+
+        // Assert
+        assertTrue(findByIdCalls(bookRepository) <= DISTINCT_IDS);
+    }
+
+    @Test
+    public void testRepeatedMissingPatronIdsReachTheRepositoryAtMostOnceEach() {
+        // Act
+        for (int round = 0; round < ROUNDS; round++) {
+            for (long id = 1_000_001; id <= 1_000_000 + DISTINCT_IDS; id++) {
+                long missingId = id;
+                assertThrows(PatronNotFoundException.class, () -> patronService.getPatronById(missingId));
+            }
+        }
+
+        // Assert
+        assertTrue(findByIdCalls(patronRepository) <= DISTINCT_IDS);
+    }
+
+    @Test
+    public void testInvalidIdsNeverReachTheRepository() {
+        // Act
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBookById(-1L));
+        assertThrows(IllegalArgumentException.class, () -> patronService.getPatronById(0L));
+
+        // Assert
+        verify(bookRepository, never()).findById(anyLong());
+        verify(patronRepository, never()).findById(anyLong());
+    }
+
+    private static long findByIdCalls(Object repository) {
+        return mockingDetails(repository).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("findById"))
+                .count();
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.librarymanagementsystem.cache;
+
+import org.example.librarymanagementsystem.exceptions.bookExceptions.BookNotFoundException;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.repositories.PatronRepository;
+import org.example.librarymanagementsystem.services.availabilityService.AvailabilityService;
+import org.example.librarymanagementsystem.services.bookService.BookServiceImpl;
+import org.example.librarymanagementsystem.services.facetService.FacetService;
+import org.example.librarymanagementsystem.services.missingIdService.MissingIdService;
+import org.example.librarymanagementsystem.services.missingIdService.MissingIdServiceImpl;
+import org.example.librarymanagementsystem.services.searchService.SearchService;
+import org.example.librarymanagementsystem.services.bookService.CatalogVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class MissingIdServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PatronRepository patronRepository;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private FacetService facetService;
+
+    private MissingIdService missingIdService;
+    private BookServiceImpl bookService;
+
+    @BeforeEach
+    public void init() {
+        MockitoAnnotations.openMocks(this);
+        missingIdService = new MissingIdServiceImpl(bookRepository, patronRepository, "maximumSize=100,expireAfterWrite=30s", Duration.ofHours(1));
+        bookService = new BookServiceImpl(bookRepository, availabilityService, searchService, facetService, missingIdService, new CatalogVersion());
+    }
+
+    @Test
+    public void testIdsBeyondMaxIdAreAbsorbedByTombstones() {
+        // Arrange
+        when(bookRepository.findMaxId()).thenReturn(100L);
+        when(bookRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        // Act: a flood that probes the same IDs over and over
+        for (int round = 0; round < 100; round++) {
+            for (long id = 101; id < 201; id++) {
+                long missingId = id;
+                assertThrows(BookNotFoundException.class, () -> bookService.getBookById(missingId));
+            }
+        }
+
+        // Assert: one bound read, then each ID is looked up once and tombstoned
+        verify(bookRepository, times(1)).findMaxId();
+        verify(bookRepository, times(100)).findById(anyLong());
+    }
+
+    @Test
+    public void testIdsBeyondAStaleMaxIdAreLookedUp() {
+        // Arrange: the bound is read, then another instance inserts book 101
+        when(bookRepository.findMaxId()).thenReturn(100L);
+        assertTrue(missingIdService.isBookMissing(101L));
+
+        // Act & Assert: within the refresh interval the old bound no longer rejects it
+        assertFalse(missingIdService.isBookMissing(101L));
+        verify(bookRepository, times(1)).findMaxId();
+    }
+
+    @Test
+    public void testMissedIdIsTombstonedUntilTheBookIsAdded() {
+        // Arrange
+        when(bookRepository.findMaxId()).thenReturn(100L);
+        when(bookRepository.findById(42L)).thenReturn(Optional.empty());
+
+        // Act
+        assertThrows(BookNotFoundException.class, () -> bookService.getBookById(42L));
+        assertThrows(BookNotFoundException.class, () -> bookService.getBookById(42L));
+
+        // Assert
+        verify(bookRepository, times(1)).findById(42L);
+        assertTrue(missingIdService.isBookMissing(42L));
+
+        missingIdService.markBookPresent(42L);
+        assertFalse(missingIdService.isBookMissing(42L));
+    }
+
+    @Test
+    public void testAddedIdRaisesMaxId() {
+        // Arrange
+        when(bookRepository.findMaxId()).thenReturn(100L);
+        assertTrue(missingIdService.isBookMissing(101L));
+
+        // Act
+        missingIdService.markBookPresent(150L);
+
+        // Assert
+        assertFalse(missingIdService.isBookMissing(101L));
+        assertFalse(missingIdService.isBookMissing(150L));
+        assertFalse(missingIdService.isBookMissing(151L)); // Above a bound that was not just re-read, so left to findById
+        verify(bookRepository, times(1)).findMaxId();
+    }
+
+    @Test
+    public void testPatronsHaveTheirOwnBound() {
+        // Arrange
+        when(bookRepository.findMaxId()).thenReturn(100L);
+        when(patronRepository.findMaxId()).thenReturn(5L);
+
+        // Act & Assert
+        assertFalse(missingIdService.isBookMissing(50L));
+        assertTrue(missingIdService.isPatronMissing(50L));
+
+        missingIdService.markPatronMissing(3L);
+        assertTrue(missingIdService.isPatronMissing(3L));
+        assertFalse(missingIdService.isBookMissing(3L));
+    }
+}
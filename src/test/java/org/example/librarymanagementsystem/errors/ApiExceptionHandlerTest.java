@@ -0,0 +1,99 @@
+package org.example.librarymanagementsystem.errors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.librarymanagementsystem.controllers.ApiExceptionHandler;
+import org.example.librarymanagementsystem.controllers.BookController;
+import org.example.librarymanagementsystem.controllers.BorrowingsController;
+import org.example.librarymanagementsystem.exceptions.bookExceptions.BookNotFoundException;
+import org.example.librarymanagementsystem.exceptions.bookExceptions.CatalogIndexNotReadyException;
+import org.example.librarymanagementsystem.exceptions.bookExceptions.NotAvailableBookException;
+import org.example.librarymanagementsystem.exceptions.borrowingsExceptions.AlreadyReturnedBookException;
+import org.example.librarymanagementsystem.exceptions.borrowingsExceptions.BorrowingNotFoundException;
+import org.example.librarymanagementsystem.services.bookService.BookImportService;
+import org.example.librarymanagementsystem.services.bookService.BookService;
+import org.example.librarymanagementsystem.services.borrowingService.BorrowingService;
+import org.example.librarymanagementsystem.services.facetService.FacetService;
+import org.example.librarymanagementsystem.services.searchService.SearchService;
+import org.example.librarymanagementsystem.services.bookService.CatalogVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ApiExceptionHandlerTest {
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private BookImportService bookImportService;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private FacetService facetService;
+
+    @Mock
+    private BorrowingService borrowingService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new BookController(bookService, bookImportService, searchService, facetService, new CatalogVersion(), new ObjectMapper()),
+                        new BorrowingsController(borrowingService))
+                .setControllerAdvice(new ApiExceptionHandler())
+                .build();
+    }
+
+    @Test
+    public void testDomainExceptionsMapToStatusCodes() throws Exception {
+        // Arrange
+        when(bookService.getBookById(1L)).thenThrow(new BookNotFoundException("Book with ID 1 not found"));
+        when(bookService.getBookById(-1L)).thenThrow(new IllegalArgumentException("Book ID cannot be null or less than or equal to 0"));
+        when(borrowingService.borrowBook(any(), any(), any())).thenThrow(new NotAvailableBookException("Book with ID 2 is not available"));
+        when(borrowingService.returnBook(3L, 1L)).thenThrow(new AlreadyReturnedBookException("Book with ID 3 has already been returned"));
+        when(borrowingService.returnBook(4L, 1L)).thenThrow(new BorrowingNotFoundException("No borrowing found"));
+        when(bookService.getBookById(5L)).thenThrow(new QueryTimeoutException("timeout"));
+        when(searchService.search("dune", 20)).thenThrow(new CatalogIndexNotReadyException("Search index is still loading"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/books/1")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/books/-1")).andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/borrow/2/patron/1")).andExpect(status().isConflict());
+        mockMvc.perform(put("/api/return/3/patron/1")).andExpect(status().isConflict());
+        mockMvc.perform(put("/api/return/4/patron/1")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/books/5")).andExpect(status().isInternalServerError());
+        mockMvc.perform(get("/api/books/search").param("q", "dune"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    public void testFrameworkExceptionsKeepTheirStatus() throws Exception {
+        // A path variable that is not a number never reaches the controller
+        mockMvc.perform(get("/api/books/abc")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/books/search")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testDomainExceptionsCaptureNoStackTrace() {
+        assertEquals(0, new BookNotFoundException("Book with ID 1 not found").getStackTrace().length);
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.librarymanagementsystem.etag;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.librarymanagementsystem.controllers.BookController;
+import org.example.librarymanagementsystem.controllers.PatronController;
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.entities.Patron;
+import org.example.librarymanagementsystem.services.bookService.BookImportService;
+import org.example.librarymanagementsystem.services.bookService.BookService;
+import org.example.librarymanagementsystem.services.bookService.CatalogVersion;
+import org.example.librarymanagementsystem.services.facetService.FacetService;
+import org.example.librarymanagementsystem.services.patronService.PatronService;
+import org.example.librarymanagementsystem.services.searchService.SearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ConditionalGetTest {
+
+    private static final Instant UPDATED_AT = Instant.parse("2024-03-01T10:15:30.250Z");
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private BookImportService bookImportService;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private FacetService facetService;
+
+    @Mock
+    private PatronService patronService;
+
+    private CatalogVersion catalogVersion;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        catalogVersion = new CatalogVersion();
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new BookController(bookService, bookImportService, searchService, facetService, catalogVersion, new ObjectMapper().findAndRegisterModules()),
+                        new PatronController(patronService))
+                .build();
+    }
+
+    @Test
+    public void testBookIsNotResentWhileItsVersionMatches() throws Exception {
+        // Arrange
+        Book book = new Book();
+        book.setId(1L);
+        book.setTitle("Dune");
+        book.setVersion(3L);
+        book.setUpdatedAt(UPDATED_AT);
+        when(bookService.getBookById(1L)).thenReturn(Optional.of(book));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"book-1-3\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+
+        mockMvc.perform(get("/api/books/1").header(HttpHeaders.IF_NONE_MATCH, "\"book-1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/books/1").header(HttpHeaders.IF_MODIFIED_SINCE, "Fri, 01 Mar 2024 10:15:30 GMT"))
+                .andExpect(status().isNotModified());
+
+        // A borrow bumps the version, so the stale copy is replaced
+        book.setVersion(4L);
+        mockMvc.perform(get("/api/books/1").header(HttpHeaders.IF_NONE_MATCH, "\"book-1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"book-1-4\""));
+    }
+
+    @Test
+    public void testPatronCarriesVersionETag() throws Exception {
+        // Arrange
+        Patron patron = new Patron();
+        patron.setId(7L);
+        patron.setName("Ada");
+        patron.setVersion(0L);
+        when(patronService.getPatronById(7L)).thenReturn(Optional.of(patron));
+
+        // Act & Assert: rows without a timestamp are still validated by their ETag
+        mockMvc.perform(get("/api/patrons/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"patron-7-0\""))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+
+        mockMvc.perform(get("/api/patrons/7").header(HttpHeaders.IF_NONE_MATCH, "\"patron-7-0\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testUnchangedCatalogIsAnsweredWithoutReadingBooks() throws Exception {
+        // Arrange
+        Book book = new Book();
+        book.setId(1L);
+        when(bookService.getBooksPage(anyLong(), anyInt())).thenReturn(List.of(book));
+
+        String etag = mockMvc.perform(get("/api/books"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        clearInvocations(bookService);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/books").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(bookService, never()).getBooksPage(anyLong(), anyInt());
+
+        catalogVersion.changed();
+
+        String newEtag = mockMvc.perform(get("/api/books").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+        verify(bookService, times(1)).getBooksPage(0L, 500);
+    }
+
+    @Test
+    public void testCatalogETagDiffersAcrossRestarts() throws InterruptedException {
+        // Arrange
+        CatalogVersion before = new CatalogVersion();
+        Thread.sleep(2);
+
+        // Act
+        CatalogVersion after = new CatalogVersion();
+
+        // Assert: both counters are at 0, yet a client holding the old ETag must not get a 304
+        assertEquals(before.current().counter(), after.current().counter());
+        assertNotEquals(before.etag(before.current()), after.etag(after.current()));
+    }
+}
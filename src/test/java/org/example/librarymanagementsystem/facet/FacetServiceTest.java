@@ -0,0 +1,180 @@
+package org.example.librarymanagementsystem.facet;
+
+import org.example.librarymanagementsystem.dto.BookFacetQuery;
+import org.example.librarymanagementsystem.dto.BookFacetRow;
+import org.example.librarymanagementsystem.dto.BookFacets;
+import org.example.librarymanagementsystem.dto.FacetCount;
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.exceptions.bookExceptions.CatalogIndexNotReadyException;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.services.facetService.FacetServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class FacetServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @InjectMocks
+    private FacetServiceImpl facetService;
+
+    @BeforeEach
+    public void init() {
+        MockitoAnnotations.openMocks(this); // Initialize the annotated fields
+
+        when(bookRepository.findFacetRowsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(
+                new BookFacetRow(1L, "Fantasy", "Penguin", 1995, true),
+                new BookFacetRow(2L, "Fantasy", "Tor", 2003, false),
+                new BookFacetRow(3L, "Horror", "Penguin", 1998, true),
+                new BookFacetRow(4L, "Fantasy", "Penguin", 2010, true),
+                new BookFacetRow(5L, null, null, 2012, true)));
+        facetService.warmUp();
+    }
+
+    @Test
+    public void testUnfilteredCounts() {
+        // Act
+        BookFacets facets = facetService.getFacets(query(null, null, null, null, null));
+
+        // Assert
+        assertEquals(5, facets.total());
+        assertEquals(List.of(new FacetCount("Fantasy", 3), new FacetCount("Horror", 1)), facets.genre());
+        assertEquals(List.of(new FacetCount("Penguin", 3), new FacetCount("Tor", 1)), facets.publisher());
+        assertEquals(List.of(new FacetCount("1990-1999", 2), new FacetCount("2000-2009", 1), new FacetCount("2010-2019", 2)),
+                facets.publicationYear());
+        assertEquals(List.of(new FacetCount("true", 4), new FacetCount("false", 1)), facets.available());
+    }
+
+    @Test
+    public void testWarmUpKeepsWritesCommittedWhileItRuns() {
+        // Arrange: while the page is read, book 1 is edited, book 2 deleted and book 3, not loaded yet, is borrowed
+        FacetServiceImpl warming = new FacetServiceImpl(bookRepository);
+        when(bookRepository.findFacetRowsAfter(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            Book edited = new Book();
+            edited.setId(1L);
+            edited.setGenre("Horror");
+            edited.setPublisher("Penguin");
+            edited.setPublicationYear(1995);
+            edited.setAvailable(true);
+            warming.index(edited);
+            warming.remove(2L);
+            warming.setAvailable(3L, false);
+            return List.of(
+                    new BookFacetRow(1L, "Fantasy", "Penguin", 1995, true),
+                    new BookFacetRow(2L, "Fantasy", "Tor", 2003, true),
+                    new BookFacetRow(3L, "Horror", "Penguin", 1998, true));
+        });
+
+        // Act
+        warming.warmUp();
+        BookFacets facets = warming.getFacets(query(null, null, null, null, null));
+
+        // Assert
+        assertEquals(2, facets.total());
+        assertEquals(List.of(new FacetCount("Horror", 2)), facets.genre());
+        assertEquals(List.of(new FacetCount("true", 1), new FacetCount("false", 1)), facets.available());
+    }
+
+    @Test
+    public void testFacetsAreRefusedUntilTheColumnsHaveBeenLoaded() {
+        // Arrange: the first warm-up fails part-way, leaving the columns partial
+        FacetServiceImpl cold = new FacetServiceImpl(bookRepository);
+        when(bookRepository.findFacetRowsAfter(eq(0L), any(Limit.class))).thenThrow(new QueryTimeoutException("timeout"));
+
+        // Act & Assert
+        cold.warmUp();
+        assertFalse(cold.isWarmedUp());
+        assertThrows(CatalogIndexNotReadyException.class, () -> cold.getFacets(query(null, null, null, null, null)));
+    }
+
+    @Test
+    public void testFacetIgnoresItsOwnFilter() {
+        // Act
+        BookFacets facets = facetService.getFacets(query("Fantasy", null, null, null, true));
+
+        // Assert
+        assertEquals(2, facets.total()); // Books 1 and 4
+        assertEquals(List.of(new FacetCount("Fantasy", 2), new FacetCount("Horror", 1)), facets.genre()); // Available books of any genre
+        assertEquals(List.of(new FacetCount("Penguin", 2)), facets.publisher());
+        assertEquals(List.of(new FacetCount("true", 2), new FacetCount("false", 1)), facets.available()); // Fantasy of any availability
+    }
+
+    @Test
+    public void testYearRangeAndUnknownValue() {
+        // Act
+        BookFacets inRange = facetService.getFacets(query(null, null, 1990, 1999, null));
+        BookFacets unknownPublisher = facetService.getFacets(query(null, "Nobody", null, null, null));
+
+        // Assert
+        assertEquals(2, inRange.total());
+        assertEquals(0, unknownPublisher.total());
+        assertEquals(List.of(new FacetCount("Penguin", 3), new FacetCount("Tor", 1)), unknownPublisher.publisher());
+    }
+
+    @Test
+    public void testStrayYearDoesNotInflateYearBuckets() {
+        // Arrange: a row written outside the API with a year near Integer.MAX_VALUE
+        facetService.index(book(6L, "Horror", "Tor", Integer.MAX_VALUE, true));
+
+        // Act
+        BookFacets withStray = facetService.getFacets(query(null, null, null, null, null));
+        facetService.remove(6L);
+        BookFacets withoutStray = facetService.getFacets(query(null, null, null, null, null));
+
+        // Assert
+        assertEquals(4, withStray.publicationYear().size());
+        assertEquals(new FacetCount("2147483640-2147483649", 1), withStray.publicationYear().get(3));
+        assertEquals(List.of(new FacetCount("1990-1999", 2), new FacetCount("2000-2009", 1), new FacetCount("2010-2019", 2)),
+                withoutStray.publicationYear());
+    }
+
+    @Test
+    public void testWritesKeepColumnsInSync() {
+        // Act
+        facetService.setAvailable(2L, true);
+        facetService.remove(3L);
+        facetService.index(book(6L, "Horror", "Tor", 2020, false));
+        facetService.index(book(1L, "Mystery", "Penguin", 1995, true));
+
+        // Assert
+        BookFacets facets = facetService.getFacets(query(null, null, null, null, null));
+        assertEquals(5, facets.total());
+        assertEquals(List.of(new FacetCount("Fantasy", 2), new FacetCount("Horror", 1), new FacetCount("Mystery", 1)), facets.genre());
+        assertEquals(List.of(new FacetCount("true", 4), new FacetCount("false", 1)), facets.available());
+    }
+
+    @Test
+    public void testInvalidQueriesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> facetService.getFacets(new BookFacetQuery(null, null, null, null, null, 0, 20)));
+        assertThrows(IllegalArgumentException.class, () -> facetService.getFacets(new BookFacetQuery(null, null, null, null, null, 10, 0)));
+        assertThrows(IllegalArgumentException.class, () -> facetService.getFacets(query(null, null, 2000, 1990, null)));
+    }
+
+    private static BookFacetQuery query(String genre, String publisher, Integer yearFrom, Integer yearTo, Boolean available) {
+        return new BookFacetQuery(genre, publisher, yearFrom, yearTo, available, 10, 20);
+    }
+
+    private static Book book(Long id, String genre, String publisher, int year, boolean available) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle("Book " + id);
+        book.setGenre(genre);
+        book.setPublisher(publisher);
+        book.setPublicationYear(year);
+        book.setAvailable(available);
+        return book;
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.librarymanagementsystem.fine;
+
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.entities.Borrowing;
+import org.example.librarymanagementsystem.entities.Patron;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.repositories.BorrowingRepository;
+import org.example.librarymanagementsystem.repositories.PatronRepository;
+import org.example.librarymanagementsystem.services.fineService.FinePolicy;
+import org.example.librarymanagementsystem.services.fineService.FineService;
+import org.example.librarymanagementsystem.services.fineService.FineServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Accrues against an embedded database with id windows small enough that every run spans several of them
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({FineServiceImpl.class, FinePolicy.class})
+@TestPropertySource(properties = {
+        "library.fines.daily-rate=0.50",
+        "library.fines.grace-days=1",
+        "library.fines.max-fine=5.00",
+        "library.fines.batch-size=2"
+})
+public class FineServiceTest {
+
+    @Autowired
+    private FineService fineService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PatronRepository patronRepository;
+
+    @Autowired
+    private BorrowingRepository borrowingRepository;
+
+    private Book book;
+    private Patron patron;
+
+    @BeforeEach
+    public void setUp() {
+        book = new Book();
+        book.setTitle("Late");
+        book.setPublicationYear(2020);
+        book.setPages(100);
+        book = bookRepository.save(book);
+
+        patron = new Patron();
+        patron.setName("Patron");
+        patron.setEmail("patron@example.org");
+        patron.setPhone("555-0");
+        patron.setAddress("Street 0");
+        patron = patronRepository.save(patron);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        borrowingRepository.deleteAll();
+        bookRepository.deleteAll();
+        patronRepository.deleteAll();
+    }
+
+    @Test
+    public void testFineOnReturnAppliesGraceRateAndCap() {
+        LocalDate today = LocalDate.now();
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(fineService.fineOnReturn(today)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(fineService.fineOnReturn(today.minusDays(1))));
+        assertEquals(0, new BigDecimal("1.50").compareTo(fineService.fineOnReturn(today.minusDays(4))));
+        assertEquals(0, new BigDecimal("5.00").compareTo(fineService.fineOnReturn(today.minusDays(60))));
+    }
+
+    @Test
+    public void testAccrualChargesOpenOverdueLoansOnly() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        Long inGrace = saveLoan(today.minusDays(1), false);
+        Long late = saveLoan(today.minusDays(4), false);
+        Long capped = saveLoan(today.minusDays(60), false);
+        Long returned = saveLoan(today.minusDays(10), true);
+        Long notDue = saveLoan(today.plusDays(3), false);
+
+        // Act
+        int updated = fineService.accrueFines();
+
+        // Assert
+        assertEquals(2, updated);
+        assertFine(inGrace, "0");
+        assertFine(late, "1.50");
+        assertFine(capped, "5.00");
+        assertFine(returned, "0");
+        assertFine(notDue, "0");
+    }
+
+    @Test
+    public void testAccrualIsIdempotentForTheSameDay() {
+        // Arrange
+        Long late = saveLoan(LocalDate.now().minusDays(4), false);
+        fineService.accrueFines();
+
+        // Act
+        int updated = fineService.accrueFines();
+
+        // Assert
+        assertEquals(0, updated);
+        assertFine(late, "1.50");
+    }
+
+    @Test
+    public void testAccrualMatchesFineOnReturn() {
+        // Arrange
+        LocalDate dueDate = LocalDate.now().minusDays(7);
+        Long late = saveLoan(dueDate, false);
+
+        // Act
+        fineService.accrueFines();
+
+        // Assert
+        assertFine(late, fineService.fineOnReturn(dueDate).toPlainString());
+    }
+
+    private Long saveLoan(LocalDate returnDate, boolean returned) {
+        Borrowing borrowing = new Borrowing();
+        borrowing.setBook(book);
+        borrowing.setPatron(patron);
+        borrowing.setBorrowingDate(returnDate.minusDays(14));
+        borrowing.setReturnDate(returnDate);
+        borrowing.setReturned(returned);
+        return borrowingRepository.save(borrowing).getId();
+    }
+
+    private void assertFine(Long borrowingId, String expected) {
+        BigDecimal fine = borrowingRepository.findById(borrowingId).orElseThrow().getFine();
+        assertEquals(0, new BigDecimal(expected).compareTo(fine), "fine of loan " + borrowingId + " was " + fine);
+    }
+}
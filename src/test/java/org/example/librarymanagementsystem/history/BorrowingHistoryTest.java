@@ -0,0 +1,177 @@
+package org.example.librarymanagementsystem.history;
+
+import org.example.librarymanagementsystem.ServiceLayerTestConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.librarymanagementsystem.dto.BorrowingHistoryEntry;
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.entities.Borrowing;
+import org.example.librarymanagementsystem.entities.Patron;
+import org.example.librarymanagementsystem.exceptions.Patron.PatronNotFoundException;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.repositories.BorrowingRepository;
+import org.example.librarymanagementsystem.repositories.PatronRepository;
+import org.example.librarymanagementsystem.services.borrowingService.BorrowingService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Pages through histories against an embedded database, counting the statements each page issues
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ServiceLayerTestConfiguration.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class BorrowingHistoryTest {
+
+    private static final int LOANS = 25;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PatronRepository patronRepository;
+
+    @Autowired
+    private BorrowingRepository borrowingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long patronId;
+    private Long otherPatronId;
+    private Long bookId;
+
+    @BeforeEach
+    public void setUp() {
+        patronId = savePatron(1);
+        otherPatronId = savePatron(2);
+
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < LOANS; i++) {
+            Book book = new Book();
+            book.setTitle("Book " + i);
+            book.setPublicationYear(2020);
+            book.setPages(100);
+            books.add(bookRepository.save(book));
+        }
+        bookId = books.get(0).getId();
+
+        // Several loans share a borrowing date, so pages have to break ties on id
+        LocalDate start = LocalDate.now().minusDays(LOANS);
+        List<Borrowing> loans = new ArrayList<>();
+        for (int i = 0; i < LOANS; i++) {
+            loans.add(loan(books.get(i), patronId, start.plusDays(i / 3)));
+            loans.add(loan(books.get(0), otherPatronId, start.plusDays(i)));
+        }
+        borrowingRepository.saveAll(loans);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        borrowingRepository.deleteAll();
+        bookRepository.deleteAll();
+        patronRepository.deleteAll();
+    }
+
+    @Test
+    public void testPatronHistoryPagesNewestFirstWithoutGapsOrDuplicates() {
+        // Arrange
+        List<BorrowingHistoryEntry> seen = new ArrayList<>();
+        String cursor = null;
+
+        // Act
+        List<BorrowingHistoryEntry> page;
+        do {
+            page = borrowingService.getPatronHistory(patronId, cursor, 4);
+            seen.addAll(page);
+            cursor = page.isEmpty() ? null : page.get(page.size() - 1).cursor();
+        } while (page.size() == 4);
+
+        // Assert
+        assertEquals(LOANS, seen.size());
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < seen.size(); i++) {
+            BorrowingHistoryEntry entry = seen.get(i);
+            assertTrue(ids.add(entry.borrowingId()));
+            assertEquals(patronId, entry.patronId());
+            assertEquals("Patron 1", entry.patronName());
+            assertTrue(entry.bookTitle().startsWith("Book "));
+
+            if (i > 0) {
+                BorrowingHistoryEntry previous = seen.get(i - 1);
+                assertTrue(entry.borrowingDate().isBefore(previous.borrowingDate())
+                        || entry.borrowingDate().equals(previous.borrowingDate()) && entry.borrowingId() < previous.borrowingId());
+            }
+        }
+    }
+
+    @Test
+    public void testHistoryPageIssuesFixedNumberOfStatements() {
+        // Arrange: a first call reads the highest patron ID, which later calls no longer need
+        borrowingService.getPatronHistory(patronId, null, 1);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        List<BorrowingHistoryEntry> page = borrowingService.getPatronHistory(patronId, null, LOANS);
+
+        // Assert: one lookup of the patron and one history query, however many books the page spans
+        assertEquals(LOANS, page.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void testBookHistoryListsEveryPatron() {
+        // Act
+        List<BorrowingHistoryEntry> history = borrowingService.getBookHistory(bookId, null, 100);
+
+        // Assert
+        assertEquals(LOANS + 1, history.size());
+        assertTrue(history.stream().allMatch(entry -> entry.bookId().equals(bookId)));
+    }
+
+    @Test
+    public void testHistoryRejectsBadCursorAndUnknownPatron() {
+        assertThrows(IllegalArgumentException.class, () -> borrowingService.getPatronHistory(patronId, "yesterday", 10));
+        assertThrows(IllegalArgumentException.class, () -> borrowingService.getPatronHistory(patronId, null, 0));
+        assertThrows(PatronNotFoundException.class, () -> borrowingService.getPatronHistory(otherPatronId + 1000, null, 10));
+    }
+
+    private Borrowing loan(Book book, Long patronId, LocalDate borrowingDate) {
+        Borrowing borrowing = new Borrowing();
+        borrowing.setBook(book);
+        borrowing.setPatron(patronRepository.getReferenceById(patronId));
+        borrowing.setBorrowingDate(borrowingDate);
+        borrowing.setReturnDate(borrowingDate.plusDays(14));
+        borrowing.setReturned(true);
+        return borrowing;
+    }
+
+    private Long savePatron(int i) {
+        Patron patron = new Patron();
+        patron.setName("Patron " + i);
+        patron.setEmail("patron" + i + "@example.org");
+        patron.setPhone("555-" + i);
+        patron.setAddress("Street " + i);
+        return patronRepository.save(patron).getId();
+    }
+}
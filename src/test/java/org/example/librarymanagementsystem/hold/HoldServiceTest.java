@@ -0,0 +1,176 @@
+package org.example.librarymanagementsystem.hold;
+
+import org.example.librarymanagementsystem.ServiceLayerTestConfiguration;
+import org.example.librarymanagementsystem.dto.HoldResult;
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.entities.Hold;
+import org.example.librarymanagementsystem.entities.Patron;
+import org.example.librarymanagementsystem.exceptions.holdExceptions.HoldNotFoundException;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.repositories.BorrowingRepository;
+import org.example.librarymanagementsystem.repositories.HoldRepository;
+import org.example.librarymanagementsystem.repositories.PatronRepository;
+import org.example.librarymanagementsystem.services.borrowingService.BorrowingService;
+import org.example.librarymanagementsystem.services.holdService.HoldService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Places holds and returns books against an embedded database; each service call commits on its own
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ServiceLayerTestConfiguration.class)
+public class HoldServiceTest {
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PatronRepository patronRepository;
+
+    @Autowired
+    private BorrowingRepository borrowingRepository;
+
+    @Autowired
+    private HoldRepository holdRepository;
+
+    private Long bookId;
+    private Long borrowerId;
+    private Long firstHolderId;
+    private Long secondHolderId;
+
+    @BeforeEach
+    public void setUp() {
+        Book book = new Book();
+        book.setTitle("Popular");
+        book.setPublicationYear(2020);
+        book.setPages(100);
+        book.setAvailable(true);
+        bookId = bookRepository.save(book).getId();
+
+        borrowerId = savePatron(0);
+        firstHolderId = savePatron(1);
+        secondHolderId = savePatron(2);
+
+        holdService.warmUp();
+        borrowingService.borrowBook(bookId, borrowerId, LocalDate.now().plusDays(7));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        holdRepository.deleteAll();
+        borrowingRepository.deleteAll();
+        bookRepository.deleteAll();
+        patronRepository.deleteAll();
+    }
+
+    @Test
+    public void testHoldsQueueInOrder() {
+        // Act
+        HoldResult first = holdService.placeHold(bookId, firstHolderId);
+        HoldResult second = holdService.placeHold(bookId, secondHolderId);
+
+        // Assert
+        assertEquals(0, first.position());
+        assertEquals(1, second.position());
+        assertEquals(2, holdService.getQueueLength(bookId));
+    }
+
+    @Test
+    public void testReturnLendsCopyToFirstHolder() {
+        // Arrange
+        holdService.placeHold(bookId, firstHolderId);
+        holdService.placeHold(bookId, secondHolderId);
+
+        // Act
+        borrowingService.returnBook(bookId, borrowerId);
+
+        // Assert
+        assertTrue(borrowingRepository.findOpenByBookIdAndPatronId(bookId, firstHolderId).isPresent());
+        assertFalse(bookRepository.findById(bookId).orElseThrow().isAvailable());
+        assertEquals(1, holdService.getQueueLength(bookId));
+        assertEquals(1, holdRepository.count());
+    }
+
+    @Test
+    public void testReturnWithoutHoldsReleasesCopy() {
+        // Act
+        borrowingService.returnBook(bookId, borrowerId);
+
+        // Assert
+        assertTrue(bookRepository.findById(bookId).orElseThrow().isAvailable());
+        assertEquals(1, borrowingRepository.count());
+    }
+
+    @Test
+    public void testHoldPlacedOnAnotherInstanceIsServed() {
+        // Arrange: the hold only exists in the database, not in this instance's queue
+        Hold hold = new Hold();
+        hold.setBook(bookRepository.findById(bookId).orElseThrow());
+        hold.setPatron(patronRepository.findById(firstHolderId).orElseThrow());
+        hold.setPlacedAt(LocalDateTime.now());
+        holdRepository.save(hold);
+
+        // Act
+        int queueLength = holdService.getQueueLength(bookId);
+        borrowingService.returnBook(bookId, borrowerId);
+
+        // Assert
+        assertEquals(1, queueLength);
+        assertTrue(borrowingRepository.findOpenByBookIdAndPatronId(bookId, firstHolderId).isPresent());
+        assertFalse(bookRepository.findById(bookId).orElseThrow().isAvailable());
+        assertEquals(0, holdRepository.count());
+    }
+
+    @Test
+    public void testCancelledHoldIsSkipped() {
+        // Arrange
+        holdService.placeHold(bookId, firstHolderId);
+        holdService.placeHold(bookId, secondHolderId);
+        holdService.cancelHold(bookId, firstHolderId);
+
+        // Act
+        borrowingService.returnBook(bookId, borrowerId);
+
+        // Assert
+        assertTrue(borrowingRepository.findOpenByBookIdAndPatronId(bookId, firstHolderId).isEmpty());
+        assertTrue(borrowingRepository.findOpenByBookIdAndPatronId(bookId, secondHolderId).isPresent());
+        assertEquals(0, holdService.getQueueLength(bookId));
+    }
+
+    @Test
+    public void testHoldRejectedForDuplicateOrCurrentBorrower() {
+        // Arrange
+        holdService.placeHold(bookId, firstHolderId);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> holdService.placeHold(bookId, firstHolderId));
+        assertThrows(IllegalArgumentException.class, () -> holdService.placeHold(bookId, borrowerId));
+        assertThrows(HoldNotFoundException.class, () -> holdService.cancelHold(bookId, secondHolderId));
+    }
+
+    private Long savePatron(int i) {
+        Patron patron = new Patron();
+        patron.setName("Patron " + i);
+        patron.setEmail("patron" + i + "@example.org");
+        patron.setPhone("555-" + i);
+        patron.setAddress("Street " + i);
+        return patronRepository.save(patron).getId();
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.librarymanagementsystem.overdue;
+
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.entities.Borrowing;
+import org.example.librarymanagementsystem.entities.Patron;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.repositories.BorrowingRepository;
+import org.example.librarymanagementsystem.repositories.JobCheckpointRepository;
+import org.example.librarymanagementsystem.repositories.PatronRepository;
+import org.example.librarymanagementsystem.services.overdueService.OverdueLoanEvent;
+import org.example.librarymanagementsystem.services.overdueService.OverdueService;
+import org.example.librarymanagementsystem.services.overdueService.OverdueServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Scans an embedded database with a small batch size so every run crosses several batch boundaries
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+@Import(OverdueServiceImpl.class)
+@TestPropertySource(properties = "library.overdue.batch-size=2")
+public class OverdueServiceTest {
+
+    @Autowired
+    private OverdueService overdueService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PatronRepository patronRepository;
+
+    @Autowired
+    private BorrowingRepository borrowingRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private Book book;
+    private Patron patron;
+
+    @BeforeEach
+    public void setUp() {
+        book = new Book();
+        book.setTitle("Late");
+        book.setPublicationYear(2020);
+        book.setPages(100);
+        book = bookRepository.save(book);
+
+        patron = new Patron();
+        patron.setName("Patron");
+        patron.setEmail("patron@example.org");
+        patron.setPhone("555-0");
+        patron.setAddress("Street 0");
+        patron = patronRepository.save(patron);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        checkpointRepository.deleteAll();
+        borrowingRepository.deleteAll();
+        bookRepository.deleteAll();
+        patronRepository.deleteAll();
+    }
+
+    @Test
+    public void testScanReportsOnlyOpenLoansPastTheirReturnDate() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        Long late1 = saveLoan(today.minusDays(10), false);
+        Long late2 = saveLoan(today.minusDays(3), false);
+        Long late3 = saveLoan(today.minusDays(3), false);
+        Long late4 = saveLoan(today.minusDays(1), false);
+        Long late5 = saveLoan(today.minusDays(1), false);
+        saveLoan(today.minusDays(5), true);
+        saveLoan(today, false);
+        saveLoan(today.plusDays(7), false);
+
+        // Act
+        int found = overdueService.scanOverdueLoans();
+
+        // Assert
+        assertEquals(5, found);
+        assertEquals(List.of(late1, late2, late3, late4, late5), reportedLoanIds());
+    }
+
+    @Test
+    public void testRescanDoesNotReportTheSameLoanTwice() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        saveLoan(today.minusDays(2), false);
+        saveLoan(today.minusDays(1), false);
+        overdueService.scanOverdueLoans();
+        events.clear();
+
+        // Act
+        int found = overdueService.scanOverdueLoans();
+
+        // Assert
+        assertEquals(0, found);
+        assertTrue(reportedLoanIds().isEmpty());
+    }
+
+    @Test
+    public void testRescanPicksUpLoansThatBecameOverdueAfterTheMark() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        saveLoan(today.minusDays(4), false);
+        overdueService.scanOverdueLoans();
+        events.clear();
+        Long later = saveLoan(today.minusDays(1), false);
+
+        // Act
+        int found = overdueService.scanOverdueLoans();
+
+        // Assert
+        assertEquals(1, found);
+        assertEquals(List.of(later), reportedLoanIds());
+    }
+
+    private Long saveLoan(LocalDate returnDate, boolean returned) {
+        Borrowing borrowing = new Borrowing();
+        borrowing.setBook(book);
+        borrowing.setPatron(patron);
+        borrowing.setBorrowingDate(returnDate.minusDays(14));
+        borrowing.setReturnDate(returnDate);
+        borrowing.setReturned(returned);
+        return borrowingRepository.save(borrowing).getId();
+    }
+
+    private List<Long> reportedLoanIds() {
+        return events.stream(OverdueLoanEvent.class).map(event -> event.loan().borrowingId()).toList();
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.librarymanagementsystem.patron;
+
+import org.example.librarymanagementsystem.dto.PatronEmail;
+import org.example.librarymanagementsystem.repositories.PatronRepository;
+import org.example.librarymanagementsystem.services.patronEmailService.PatronEmailServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+public class PatronEmailServiceTest {
+
+    @Mock
+    private PatronRepository patronRepository;
+
+    private PatronEmailServiceImpl patronEmailService;
+
+    @BeforeEach
+    public void init() {
+        MockitoAnnotations.openMocks(this); // Initialize the annotated fields
+        patronEmailService = new PatronEmailServiceImpl(patronRepository, 10_000, 0.001);
+    }
+
+    @Test
+    public void testEverythingMightBeRegisteredBeforeWarmUp() {
+        // Act & Assert
+        assertTrue(patronEmailService.mightBeRegistered("anyone@example.org"));
+    }
+
+    @Test
+    public void testWarmUpLoadsExistingEmails() {
+        // Arrange
+        when(patronRepository.findEmailsAfter(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(new PatronEmail(1L, "john@example.org"), new PatronEmail(2L, "jane@example.org")));
+
+        // Act
+        int warmed = patronEmailService.warmUp();
+
+        // Assert
+        assertEquals(2, warmed);
+        assertTrue(patronEmailService.mightBeRegistered("john@example.org"));
+        assertTrue(patronEmailService.mightBeRegistered("JANE@example.org")); // Case must never cause a false negative
+        assertFalse(patronEmailService.mightBeRegistered("nobody@example.org"));
+    }
+
+    @Test
+    public void testRegisteredEmailIsVisibleOutsideTransaction() {
+        // Arrange
+        when(patronRepository.findEmailsAfter(eq(0L), any(Limit.class))).thenReturn(List.of());
+        patronEmailService.warmUp();
+
+        // Act
+        patronEmailService.register("late@example.org");
+
+        // Assert
+        assertTrue(patronEmailService.mightBeRegistered("late@example.org"));
+    }
+
+    @Test
+    public void testNoFalseNegativesAndFewFalsePositives() {
+        // Arrange
+        when(patronRepository.findEmailsAfter(eq(0L), any(Limit.class))).thenReturn(List.of());
+        patronEmailService.warmUp();
+
+        for (int i = 0; i < 10_000; i++) {
+            patronEmailService.register("patron" + i + "@example.org");
+        }
+
+        // Act
+        int falsePositives = 0;
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(patronEmailService.mightBeRegistered("patron" + i + "@example.org"));
+
+            if (patronEmailService.mightBeRegistered("stranger" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+
+        // Assert: configured for 0.1%, allow generous slack
+        assertTrue(falsePositives < 50, "False positives: " + falsePositives);
+    }
+
+    @Test
+    public void testFailedWarmUpKeepsFilterCold() {
+        // Arrange
+        when(patronRepository.findEmailsAfter(eq(0L), any(Limit.class)))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+
+        // Act
+        patronEmailService.warmUp();
+
+        // Assert
+        assertTrue(patronEmailService.mightBeRegistered("nobody@example.org"));
+    }
+}
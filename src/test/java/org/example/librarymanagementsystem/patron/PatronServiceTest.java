@@ -2,7 +2,9 @@ package org.example.librarymanagementsystem.patron;
 
 import org.example.librarymanagementsystem.entities.Patron;
 import org.example.librarymanagementsystem.repositories.PatronRepository;
+import org.example.librarymanagementsystem.services.patronEmailService.PatronEmailService;
 import org.example.librarymanagementsystem.services.patronService.PatronServiceImpl;
+import org.example.librarymanagementsystem.services.missingIdService.MissingIdService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -13,6 +15,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -21,6 +24,12 @@ public class PatronServiceTest {
     @Mock // Create a mock object of PatronRepository class to test PatronServiceImpl class
     private PatronRepository patronRepository;
 
+    @Mock
+    private PatronEmailService patronEmailService;
+
+    @Mock
+    private MissingIdService missingIdService;
+
     @InjectMocks // Create an instance of PatronServiceImpl class and inject the mock object patronRepository into it
     private PatronServiceImpl patronServiceImpl;
 
@@ -81,6 +90,50 @@ public class PatronServiceTest {
         verify(patronRepository, times(1)).save(patron);
     }
 
+    @Test
+    public void testAddPatronSkipsDatabaseCheckWhenFilterRulesEmailOut() {
+        // Arrange
+        Patron patron = newPatron("new@example.org");
+        when(patronEmailService.mightBeRegistered("new@example.org")).thenReturn(false);
+        when(patronRepository.save(patron)).thenReturn(patron);
+
+        // Act
+        patronServiceImpl.addPatron(patron);
+
+        // Assert
+        verify(patronRepository, never()).existsByEmail(anyString());
+        verify(patronEmailService, times(1)).register("new@example.org");
+    }
+
+    @Test
+    public void testAddPatronRejectsDuplicateEmail() {
+        // Arrange
+        Patron patron = newPatron("taken@example.org");
+        when(patronEmailService.mightBeRegistered("taken@example.org")).thenReturn(true);
+        when(patronRepository.existsByEmail("taken@example.org")).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> patronServiceImpl.addPatron(patron));
+        verify(patronRepository, never()).save(any());
+        verify(patronEmailService, never()).register(anyString());
+    }
+
+    @Test
+    public void testAddPatronFalsePositiveFallsThroughToInsert() {
+        // Arrange
+        Patron patron = newPatron("collision@example.org");
+        when(patronEmailService.mightBeRegistered("collision@example.org")).thenReturn(true);
+        when(patronRepository.existsByEmail("collision@example.org")).thenReturn(false);
+        when(patronRepository.save(patron)).thenReturn(patron);
+
+        // Act
+        patronServiceImpl.addPatron(patron);
+
+        // Assert
+        verify(patronRepository, times(1)).existsByEmail("collision@example.org");
+        verify(patronRepository, times(1)).save(patron);
+    }
+
     @Test
     public void testUpdatePatron() {
         // Arrange
@@ -115,4 +168,13 @@ public class PatronServiceTest {
         verify(patronRepository, times(1)).findById(1L);
         verify(patronRepository, times(1)).deleteById(1L);
     }
+
+    private Patron newPatron(String email) {
+        Patron patron = new Patron();
+        patron.setName("Jane Doe");
+        patron.setEmail(email);
+        patron.setPhone("5550100");
+        patron.setAddress("1 Library Lane");
+        return patron;
+    }
 }
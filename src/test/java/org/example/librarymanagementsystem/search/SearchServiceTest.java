@@ -0,0 +1,218 @@
+package org.example.librarymanagementsystem.search;
+
+import org.example.librarymanagementsystem.entities.Book;
+import org.example.librarymanagementsystem.exceptions.bookExceptions.CatalogIndexNotReadyException;
+import org.example.librarymanagementsystem.repositories.BookRepository;
+import org.example.librarymanagementsystem.services.searchService.SearchServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class SearchServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @InjectMocks
+    private SearchServiceImpl searchService;
+
+    private final Map<Long, Book> catalog = new HashMap<>();
+
+    @BeforeEach
+    public void init() {
+        MockitoAnnotations.openMocks(this); // Initialize the annotated fields
+
+        // The repository hands back whatever the test has put in the catalog, in no particular order
+        when(bookRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Book> books = new ArrayList<>();
+            ids.forEach(id -> {
+                if (catalog.containsKey(id)) {
+                    books.add(0, catalog.get(id));
+                }
+            });
+            return books;
+        });
+        searchService.warmUp(); // Nothing to load yet, but the index only answers once a warm-up has finished
+    }
+
+    @Test
+    public void testWarmUpIndexesExistingBooks() {
+        // Arrange
+        Book dune = book(1L, "Dune", "Frank Herbert", "Science Fiction", "Chilton", "978-0-8015-4024-9");
+        catalog.put(1L, dune);
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(List.of(dune));
+
+        // Act
+        int warmed = searchService.warmUp();
+
+        // Assert
+        assertEquals(1, warmed);
+        assertEquals(List.of(dune), searchService.search("herbert", 10));
+    }
+
+    @Test
+    public void testWarmUpDoesNotOverwriteNewerWritesOrRestoreDeletedBooks() {
+        // Arrange: the page is read, then an edit of book 1 and a delete of book 2 commit before it is applied
+        Book staleDune = book(1L, "Dune", "Frank Herbert", "Science Fiction", "Chilton", null);
+        Book emma = book(2L, "Emma", "Jane Austen", "Classic", "Murray", null);
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            index(book(1L, "Dune Messiah", "Frank Herbert", "Science Fiction", "Putnam", null));
+            catalog.remove(2L);
+            searchService.remove(2L);
+            return List.of(staleDune, emma);
+        });
+
+        // Act
+        searchService.warmUp();
+
+        // Assert
+        assertEquals(List.of(1L), ids(searchService.search("putnam", 10)));
+        assertTrue(searchService.search("chilton", 10).isEmpty());
+        assertTrue(searchService.search("austen", 10).isEmpty());
+    }
+
+    @Test
+    public void testTitleMatchesRankAboveGenreMatches() {
+        // Arrange
+        index(book(1L, "Cooking Basics", "Ann Smith", "Fantasy", "Penguin", null));
+        index(book(2L, "Fantasy Worlds", "Bob Jones", "Reference", "Penguin", null));
+
+        // Act
+        List<Book> results = searchService.search("fantasy", 10);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), ids(results));
+    }
+
+    @Test
+    public void testEveryQueryTermMustMatch() {
+        // Arrange
+        index(book(1L, "The Hobbit", "J. R. R. Tolkien", "Fantasy", "Allen & Unwin", null));
+        index(book(2L, "The Silmarillion", "J. R. R. Tolkien", "Fantasy", "Allen & Unwin", null));
+
+        // Act & Assert
+        assertEquals(List.of(1L), ids(searchService.search("tolkien hobbit", 10)));
+        assertTrue(searchService.search("tolkien dragons", 10).isEmpty());
+    }
+
+    @Test
+    public void testAccentsCaseAndIsbnFormattingAreIgnored() {
+        // Arrange
+        index(book(1L, "Cien años de soledad", "Gabriel García Márquez", "Novel", "Sudamericana", "978-84-376-0494-7"));
+
+        // Act & Assert
+        assertEquals(List.of(1L), ids(searchService.search("GARCIA marquez", 10)));
+        assertEquals(List.of(1L), ids(searchService.search("9788437604947", 10)));
+        assertEquals(List.of(1L), ids(searchService.search("978-84-376-0494-7", 10)));
+    }
+
+    @Test
+    public void testUpdateReplacesOldTerms() {
+        // Arrange
+        index(book(1L, "Draft Title", "Someone", "Essay", "Small Press", null));
+
+        // Act
+        index(book(1L, "Final Title", "Someone", "Essay", "Small Press", null));
+
+        // Assert
+        assertTrue(searchService.search("draft", 10).isEmpty());
+        assertEquals(List.of(1L), ids(searchService.search("final", 10)));
+    }
+
+    @Test
+    public void testRemovedBooksAreNoLongerFound() {
+        // Arrange
+        index(book(1L, "Gone Girl", "Gillian Flynn", "Thriller", "Crown", null));
+
+        // Act
+        searchService.remove(1L);
+        catalog.remove(1L);
+
+        // Assert
+        assertTrue(searchService.search("gone", 10).isEmpty());
+    }
+
+    @Test
+    public void testChurnDoesNotDuplicateHits() {
+        // Arrange: flip a term in and out of the same book so stale postings pile up and get compacted
+        for (int i = 0; i <= 50; i++) { // Ends on "Red Book"
+            index(book(1L, i % 2 == 0 ? "Red Book" : "Blue Book", "Someone", "Essay", "Press", null));
+        }
+        index(book(2L, "Red Herring", "Someone", "Essay", "Press", null));
+
+        // Act & Assert
+        assertEquals(List.of(1L, 2L), ids(searchService.search("red", 10)).stream().sorted().toList());
+        assertEquals(List.of(1L), ids(searchService.search("book", 10)));
+    }
+
+    @Test
+    public void testLimitKeepsBestMatches() {
+        // Arrange
+        for (long id = 1; id <= 30; id++) {
+            index(book(id, "Atlas " + id, "Cartographer", "Maps", "Geo", null));
+        }
+
+        // Act
+        List<Book> results = searchService.search("atlas", 5);
+
+        // Assert
+        assertEquals(5, results.size());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids(results)); // Equal scores fall back to ID order
+    }
+
+    @Test
+    public void testSearchIsRefusedUntilTheIndexHasBeenLoaded() {
+        // Arrange: the first warm-up fails part-way, leaving the index partial
+        SearchServiceImpl cold = new SearchServiceImpl(bookRepository);
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenThrow(new QueryTimeoutException("timeout"));
+
+        // Act & Assert
+        cold.warmUp();
+        assertFalse(cold.isWarmedUp());
+        assertThrows(CatalogIndexNotReadyException.class, () -> cold.search("dune", 10));
+    }
+
+    @Test
+    public void testInvalidArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> searchService.search(" ", 10));
+        assertThrows(IllegalArgumentException.class, () -> searchService.search("dune", 0));
+        assertThrows(IllegalArgumentException.class, () -> searchService.search("dune", SearchServiceImpl.MAX_RESULTS + 1));
+        verify(bookRepository, never()).findAllById(anyIterable());
+    }
+
+    private void index(Book book) {
+        catalog.put(book.getId(), book);
+        searchService.index(book);
+    }
+
+    private static List<Long> ids(List<Book> books) {
+        return books.stream().map(Book::getId).toList();
+    }
+
+    private static Book book(Long id, String title, String author, String genre, String publisher, String isbn) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setGenre(genre);
+        book.setPublisher(publisher);
+        book.setIsbn(isbn);
+        return book;
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.librarymanagementsystem.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.librarymanagementsystem.dto.LoginRequest;
+import org.example.librarymanagementsystem.dto.LoginResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability // Registers the metrics endpoint, which test contexts leave out by default
+public class JwtAuthenticationTest {
+
+    private static final String PROTECTED_URL = "/api/books/page";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testLoginIssuesTokenThatAuthenticatesRequests() throws Exception {
+        // Arrange
+        String token = login("user1", "123456");
+
+        // Act & Assert: the second request is served from the verified token cache
+        mockMvc.perform(get(PROTECTED_URL).header(HttpHeaders.AUTHORIZATION, "Bearer " + token)).andExpect(status().isOk());
+        MvcResult result = mockMvc.perform(get(PROTECTED_URL).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertNull(result.getResponse().getCookie("JSESSIONID")); // Stateless: no session is created
+    }
+
+    @Test
+    public void testWrongPasswordIsRejected() throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("user1", "wrong"))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testMissingOrInvalidTokenIsRejected() throws Exception {
+        // Arrange
+        String token = login("user1", "123456");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Act & Assert
+        mockMvc.perform(get(PROTECTED_URL)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get(PROTECTED_URL).header(HttpHeaders.AUTHORIZATION, "Bearer not-a-jwt")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get(PROTECTED_URL).header(HttpHeaders.AUTHORIZATION, "Bearer " + tampered)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testBasicAuthIsNoLongerAccepted() throws Exception {
+        mockMvc.perform(get(PROTECTED_URL).header(HttpHeaders.AUTHORIZATION, "Basic dXNlcjE6MTIzNDU2"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testMetricsRequireTokenButHealthDoesNot() throws Exception {
+        // Arrange
+        String token = login("user1", "123456");
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)).andExpect(status().isOk());
+    }
+
+    private String login(String username, String password) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest(username, password))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        LoginResponse response = objectMapper.readValue(result.getResponse().getContentAsString(), LoginResponse.class);
+        assertEquals("Bearer", response.tokenType());
+        return response.token();
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.librarymanagementsystem.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.example.librarymanagementsystem.utilities.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtUtilTest {
+
+    private static final String SECRET = "unit-test-secret-0123456789abcdef0123456789";
+
+    private final UserDetails user = User.withUsername("user1").password("unused").roles("USER").build();
+
+    @Test
+    public void testVerifyReturnsClaimsAndServesRepeatsFromCache() {
+        // Arrange
+        JwtUtil jwtUtil = new JwtUtil(SECRET, Duration.ofHours(1), 100);
+        String token = jwtUtil.generateToken(user);
+
+        // Act
+        Claims first = jwtUtil.verifyToken(token);
+        Claims second = jwtUtil.verifyToken(token);
+
+        // Assert
+        assertEquals("user1", first.getSubject());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")), jwtUtil.extractAuthorities(first));
+        assertSame(first, second); // The second call did not parse the token again
+        assertTrue(jwtUtil.validateToken(token, user));
+    }
+
+    @Test
+    public void testCachedTokenStopsWorkingWhenItExpires() throws Exception {
+        // Arrange
+        JwtUtil jwtUtil = new JwtUtil(SECRET, Duration.ofSeconds(1), 100);
+        String token = jwtUtil.generateToken(user);
+        jwtUtil.verifyToken(token);
+
+        // Act
+        Thread.sleep(2_000);
+
+        // Assert
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verifyToken(token));
+    }
+
+    @Test
+    public void testTamperedOrForeignTokensAreRejected() {
+        // Arrange
+        JwtUtil jwtUtil = new JwtUtil(SECRET, Duration.ofHours(1), 100);
+        JwtUtil otherIssuer = new JwtUtil("another-secret-0123456789abcdef0123456789", Duration.ofHours(1), 100);
+        String token = jwtUtil.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> jwtUtil.verifyToken(tampered));
+        assertThrows(JwtException.class, () -> jwtUtil.verifyToken(otherIssuer.generateToken(user)));
+    }
+
+    @Test
+    public void testShortSecretIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new JwtUtil("secret", Duration.ofHours(1), 100));
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.librarymanagementsystem.threads;
+
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.threads.virtual.enabled=true")
+public class VirtualThreadModeTest {
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private TaskExecutor taskExecutor;
+
+    @Test
+    public void testRequestsAreHandledOnVirtualThreads() {
+        // Arrange
+        TomcatWebServer webServer = (TomcatWebServer) context.getWebServer();
+
+        // Act & Assert
+        assertInstanceOf(VirtualThreadExecutor.class, webServer.getTomcat().getConnector().getProtocolHandler().getExecutor());
+    }
+
+    @Test
+    public void testApplicationTasksRunOnVirtualThreads() throws Exception {
+        // Arrange
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+
+        // Act
+        taskExecutor.execute(() -> virtual.complete(Thread.currentThread().isVirtual()));
+
+        // Assert
+        assertTrue(virtual.get(5, TimeUnit.SECONDS));
+    }
+}